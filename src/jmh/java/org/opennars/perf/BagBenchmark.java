@@ -0,0 +1,168 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.perf;
+
+import org.opennars.main.Parameters;
+import org.opennars.perf.BagPerf.NullItem;
+import org.opennars.storage.Bag;
+import org.opennars.storage.BagType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the basic Bag operations.
+ *
+ * Run with
+ * <pre>
+ * mvn -P jmh test-compile exec:exec -Djmh.args="BagBenchmark -prof gc"
+ * </pre>
+ * where "-prof gc" adds the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BagBenchmark {
+
+    /** how the priorities of the items are distributed */
+    public enum Distribution {
+        /** uniform in [0,1) */
+        UNIFORM {
+            @Override
+            float next(final Random r) {
+                return r.nextFloat();
+            }
+        },
+        /** most items of low priority, few of high priority */
+        SKEWED {
+            @Override
+            float next(final Random r) {
+                final float x = r.nextFloat();
+                return x * x * x;
+            }
+        },
+        /** all items in the lowest tenth, leaving most levels empty */
+        LOW {
+            @Override
+            float next(final Random r) {
+                return r.nextFloat() * 0.1f;
+            }
+        };
+
+        abstract float next(Random r);
+    }
+
+    @Param({"LEVEL", "ARRAY_LEVEL", "ROULETTE"})
+    public BagType bagType;
+
+    @Param({"100"})
+    public int levels;
+
+    @Param({"100", "10000"})
+    public int capacity;
+
+    @Param({"UNIFORM", "SKEWED", "LOW"})
+    public Distribution distribution;
+
+    /** forget cycles used by putBack */
+    @Param({"10"})
+    public float forgetCycles;
+
+    Bag<NullItem,CharSequence> bag;
+
+    /** twice as many items as fit into the bag, the first half is put in by setup */
+    NullItem[] items;
+    int next;
+
+    /**
+     * Refill the bag for every iteration, so that the priorities which
+     * takeNextPutBack decays are restored to the chosen distribution
+     */
+    @Setup(Level.Iteration)
+    public void setup() {
+        final Random r = new Random(1);
+        bag = bagType.make(levels, capacity);
+        items = new NullItem[capacity * 2];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new NullItem(Math.min(distribution.next(r), 1.0f - Parameters.TRUTH_EPSILON));
+        }
+        for (int i = 0; i < capacity; i++) {
+            bag.putIn(items[i]);
+        }
+        next = 0;
+    }
+
+    private NullItem nextItem() {
+        final NullItem x = items[next];
+        next = (next + 1 == items.length) ? 0 : next + 1;
+        return x;
+    }
+
+    /**
+     * Put into the full bag, which either merges with the item of the same
+     * key, displaces the lowest item, or rejects the new one
+     */
+    @Benchmark
+    public NullItem putIn() {
+        return bag.putIn(nextItem());
+    }
+
+    @Benchmark
+    public NullItem takeNextPutIn() {
+        final NullItem x = bag.takeNext();
+        bag.putIn(x);
+        return x;
+    }
+
+    @Benchmark
+    public NullItem takeKeyPutIn() {
+        final NullItem x = bag.take(nextItem().name());
+        if (x != null) {
+            bag.putIn(x);
+        }
+        return x;
+    }
+
+    /** the takeNext/putBack loop of concept and link selection, including forgetting */
+    @Benchmark
+    public NullItem takeNextPutBack() {
+        final NullItem x = bag.takeNext();
+        bag.putBack(x, forgetCycles, null);
+        return x;
+    }
+
+    @Benchmark
+    public void iterate(final Blackhole bh) {
+        for (final NullItem x : bag) {
+            bh.consume(x);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.perf;
+
+import org.opennars.main.Nar;
+import org.opennars.main.Parameters;
+import org.opennars.storage.Memory;
+import org.opennars.util.io.ExampleFileInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the steady-state reasoning cycle.
+ *
+ * All the scripts of one of the unit test sets in src/test/resources/nal are
+ * loaded into a single Nar, which then runs for some cycles before the time
+ * per {@link Nar#cycle()} is measured. The sets stress different parts of
+ * the system, so regressions can be told apart.
+ *
+ * Run with
+ * <pre>
+ * mvn -P jmh test-compile exec:exec -Djmh.args="CycleBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CycleBenchmark {
+
+    static {
+        Parameters.DEBUG = false;
+        Parameters.TEST_RUNNING = true;
+    }
+
+    @Param({"single_step", "multi_step", "application"})
+    public String scenario;
+
+    /** cycles run after loading the scripts and before measuring */
+    @Param({"1000"})
+    public int warmupCycles;
+
+    Nar nar;
+
+    /**
+     * Rebuild the Nar for every iteration, so that each iteration measures
+     * the same range of cycles instead of an ever growing memory
+     */
+    @Setup(Level.Iteration)
+    public void setup() throws IOException {
+        Memory.resetSharedRandom();
+        nar = new Nar();
+        for (final Object o : ExampleFileInput.getUnitTests(new String[] { "/nal/" + scenario + "/" }).values()) {
+            final String path = (String) ((Object[]) o)[0];
+            for (final String line : Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8)) {
+                //"**" would reset the memory and drop the scripts loaded before
+                if (!line.isEmpty() && !line.startsWith("**")) {
+                    nar.addInput(line);
+                }
+            }
+        }
+        nar.cycles(warmupCycles);
+    }
+
+    @Benchmark
+    public long cycle() {
+        nar.cycle();
+        return nar.time();
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.perf;
+
+import org.opennars.main.Nar;
+import org.opennars.main.NarParameters;
+import org.opennars.main.Parameters;
+import org.opennars.storage.Memory;
+import org.opennars.util.io.ExampleFileInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of how the reasoning cycle scales with INFERENCE_THREADS.
+ *
+ * Like {@link CycleBenchmark}, but a fixed number of concepts is fired per
+ * cycle, so that the time per {@link Nar#cycle()} only changes with the
+ * number of threads firing them. The speedup over threads=1 is only
+ * meaningful on a machine with at least as many cores.
+ *
+ * Run with
+ * <pre>
+ * mvn -P jmh test-compile exec:exec -Djmh.args="ParallelCycleBenchmark"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelCycleBenchmark {
+
+    static {
+        Parameters.DEBUG = false;
+        Parameters.TEST_RUNNING = true;
+    }
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"8"})
+    public int conceptsPerCycle;
+
+    @Param({"multi_step"})
+    public String scenario;
+
+    /** cycles run after loading the scripts and before measuring */
+    @Param({"1000"})
+    public int warmupCycles;
+
+    Nar nar;
+
+    @Setup(Level.Iteration)
+    public void setup() throws IOException {
+        Memory.resetSharedRandom();
+        final NarParameters p = new NarParameters();
+        p.INFERENCE_THREADS = threads;
+        p.CONCEPTS_FIRED_PER_CYCLE = conceptsPerCycle;
+        nar = new Nar(p);
+        for (final Object o : ExampleFileInput.getUnitTests(new String[] { "/nal/" + scenario + "/" }).values()) {
+            final String path = (String) ((Object[]) o)[0];
+            for (final String line : Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8)) {
+                if (!line.isEmpty() && !line.startsWith("**")) {
+                    nar.addInput(line);
+                }
+            }
+        }
+        nar.cycles(warmupCycles);
+    }
+
+    @Benchmark
+    public long cycle() {
+        nar.cycle();
+        return nar.time();
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.perf;
+
+import org.opennars.entity.Stamp;
+import org.opennars.language.Tense;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the evidential base checks of Stamp.
+ *
+ * Run with
+ * <pre>
+ * mvn -P jmh test-compile exec:exec -Djmh.args="StampBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StampBenchmark {
+
+    /** number of serials in each evidential base */
+    @Param({"1", "8", "64"})
+    public int baseLength;
+
+    /** whether the two bases share a serial */
+    @Param({"false", "true"})
+    public boolean overlapping;
+
+    Stamp first, second;
+
+    /** a stamp of the serials from, from + step, ... merged from single stamps as derivations do */
+    private Stamp stamp(final long from, final long step) {
+        Stamp s = new Stamp(0, Tense.Eternal, from, 5);
+        for (int i = 1; i < baseLength; i++) {
+            s = new Stamp(s, new Stamp(0, Tense.Eternal, from + i * step, 5), 0);
+        }
+        return s;
+    }
+
+    @Setup
+    public void setup() {
+        first = stamp(0, 2);
+        //the odd serials, and the last even one of the first if overlapping
+        second = stamp(overlapping ? 2 * baseLength - 1 : 1, overlapping ? -2 : 2);
+        if (overlapping) {
+            second = new Stamp(second, new Stamp(0, Tense.Eternal, 2 * (baseLength - 1), 5), 0);
+        }
+    }
+
+    /** the overlap test of a task and a belief, their sets being cached by the stamps */
+    @Benchmark
+    public boolean baseOverlap() {
+        return Stamp.baseOverlap(first, second);
+    }
+
+    @Benchmark
+    public boolean baseOverlapArrays() {
+        return Stamp.baseOverlap(first.evidentialBase, second.evidentialBase);
+    }
+
+    /** the check of a derived stamp, which is new and has no cached set yet */
+    @Benchmark
+    public boolean derivedIsCyclic() {
+        return new Stamp(first, second, 0).evidenceIsCyclic();
+    }
+}
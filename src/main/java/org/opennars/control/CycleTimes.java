@@ -0,0 +1,51 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.control;
+
+/**
+ * Wall-clock time spent in each phase of a cycle, in nanoseconds, see
+ * Memory.cycle(Nar, long, CycleTimes)
+ */
+public class CycleTimes {
+
+    /** time the cycle was given to fire concepts, 0 to fire them once */
+    public long budget;
+    /** taking the input queue */
+    public long input;
+    /** processing new tasks */
+    public long newTasks;
+    /** processing a novel task */
+    public long novelTasks;
+    /** firing concepts */
+    public long concepts;
+    /** times concepts were selected and fired */
+    public int fired;
+
+    /** time of the whole cycle */
+    public long total() {
+        return input + newTasks + novelTasks + concepts;
+    }
+
+    /** share of the budget used by the whole cycle */
+    public double budgetUsed() {
+        return budget > 0 ? (double) total() / budget : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "input=" + input + "ns newTasks=" + newTasks + "ns novelTasks=" + novelTasks +
+               "ns concepts=" + concepts + "ns fired=" + fired + " budget=" + budget + "ns";
+    }
+}
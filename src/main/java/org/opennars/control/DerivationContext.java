@@ -21,6 +21,8 @@ package org.opennars.control;
 import org.opennars.entity.*;
 import org.opennars.inference.TruthFunctions;
 import org.opennars.io.events.Events;
+import org.opennars.io.jfr.InferenceRecorder;
+import org.opennars.io.metrics.RuleProfiler;
 import org.opennars.main.NarParameters;
 import org.opennars.language.*;
 import org.opennars.main.Parameters;
@@ -44,6 +46,8 @@ public class DerivationContext {
     protected Sentence currentBelief;
     protected Stamp newStamp;
     public StampBuilder newStampBuilder;
+    /** the rule being applied while the rule profiler is enabled */
+    protected RuleProfiler.Frame currentRule;
 
     public NarParameters narParameters;
     
@@ -53,6 +57,21 @@ public class DerivationContext {
         this.narParameters = narParameters;
     }
    
+    /** Begin the application of a rule for the rule profiler of the memory, to be ended by exitRule */
+    public void enterRule(final String rule) {
+        currentRule = memory.ruleProfiler.enter(currentRule, rule);
+    }
+
+    public void exitRule() {
+        currentRule = memory.ruleProfiler.exit(currentRule);
+    }
+
+    private boolean reject(final Task task, final String reason) {
+        memory.removeTask(task, reason);
+        memory.ruleProfiler.rejected(currentRule, reason);
+        return false;
+    }
+
     public void emit(final Class c, final Object... o) {
         memory.emit(c, o);
     }
@@ -67,52 +86,52 @@ public class DerivationContext {
         return derivedTask(task, revised, single, overlapAllowed, true);
     }
     public boolean derivedTask(final Task task, final boolean revised, final boolean single, final boolean overlapAllowed, final boolean addToMemory) {
+        final Object recorded = InferenceRecorder.beginDerivation();
+        boolean derived = false;
+        try {
+            derived = addDerivedTask(task, revised, single, overlapAllowed, addToMemory);
+            return derived;
+        } finally {
+            InferenceRecorder.endDerivation(recorded, task, derived);
+        }
+    }
+
+    private boolean addDerivedTask(final Task task, final boolean revised, final boolean single, final boolean overlapAllowed, final boolean addToMemory) {
 
         if((task.sentence.isGoal() || task.sentence.isQuest()) && (task.sentence.term instanceof Implication ||
                                       task.sentence.term instanceof Equivalence)) {
+            memory.ruleProfiler.rejected(currentRule, "Implication or equivalence goal or quest");
             return false; //implication and equivalence goals and quests are not supported anymore
         }
         if (!task.budget.aboveThreshold()) {
-            memory.removeTask(task, "Insufficient Budget");
-            return false;
+            return reject(task, "Insufficient Budget");
         } 
         if (task.sentence != null && task.sentence.truth != null) {
             final float conf = task.sentence.truth.getConfidence();
             if (conf < Parameters.TRUTH_EPSILON) {
                 //no confidence - we can delete the wrongs out that way.
-                memory.removeTask(task, "Ignored (zero confidence)");
-                return false;
+                return reject(task, "Ignored (zero confidence)");
             }
         }
         if (task.sentence.term instanceof Operation) {
             final Operation op = (Operation) task.sentence.term;
             if (op.getSubject() instanceof Variable || op.getPredicate() instanceof Variable) {
-                memory.removeTask(task, "Operation with variable as subject or predicate");
-                return false;
+                return reject(task, "Operation with variable as subject or predicate");
             }
         }
         if(task.sentence.term.cloneDeep() == null) {
             //sorted subterm version leaded to a invalid term that remained undetected while the term was constructed optimistically
             //example: (&,a,b) --> (&,b,a) which gets normalized to (&,a,b) --> (&,a,b) which is invalid.
-            memory.removeTask(task, "Wrong Format");
-            return false;
+            return reject(task, "Wrong Format");
         }
 
         final Stamp stamp = task.sentence.stamp;
         
         //its revision, of course its cyclic, apply evidental base policy
         if(!overlapAllowed) { //todo reconsider
-            final int stampLength = stamp.baseLength;
-            for (int i = 0; i < stampLength; i++) {
-                final long baseI = stamp.evidentialBase[i];
-                for (int j = 0; j < stampLength; j++) {
-                    //!single since the derivation shouldn't depend on whether there is a current belief or not!!
-                    if ((!single && this.evidentalOverlap) || ((i != j) && (baseI == stamp.evidentialBase[j]))) {
-                        memory.removeTask(task, "Overlapping Evidenctal Base");
-                        //"(i=" + i + ",j=" + j +')' /* + " in " + stamp.toString()*/
-                        return false;
-                    }
-                }
+            //!single since the derivation shouldn't depend on whether there is a current belief or not!!
+            if ((!single && this.evidentalOverlap && stamp.baseLength > 0) || stamp.evidenceIsCyclic()) {
+                return reject(task, "Overlapping Evidenctal Base");
             }
         }
         
@@ -126,10 +145,11 @@ public class DerivationContext {
         
         task.setElemOfSequenceBuffer(false);
         if(!revised) {
-            task.getBudget().setDurability(task.getBudget().getDurability()*Parameters.DERIVATION_DURABILITY_LEAK);
-            task.getBudget().setPriority(task.getBudget().getPriority()*Parameters.DERIVATION_PRIORITY_LEAK);
+            task.getBudget().setDurability(task.getBudget().getDurability()*narParameters.DERIVATION_DURABILITY_LEAK);
+            task.getBudget().setPriority(task.getBudget().getPriority()*narParameters.DERIVATION_PRIORITY_LEAK);
         }
-        memory.event.emit(Events.TaskDerive.class, task, revised, single);
+        memory.emit(Events.TaskDerive.class, task, revised, single);
+        memory.ruleProfiler.derived(currentRule);
         //memory.logic.TASK_DERIVED.commit(task.budget.getPriority());
         
         if(addToMemory) {
@@ -204,7 +224,7 @@ public class DerivationContext {
             
             
             //"Since in principle it is always valid to eternalize a tensed belief"
-            if(temporalInduction && Parameters.IMMEDIATE_ETERNALIZATION) { //temporal induction generated ones get eternalized directly
+            if(temporalInduction && narParameters.IMMEDIATE_ETERNALIZATION) { //temporal induction generated ones get eternalized directly
                 final TruthValue truthEt=TruthFunctions.eternalize(newTruth);
                 final Stamp st=derive_stamp.clone();
                 st.setEternal();
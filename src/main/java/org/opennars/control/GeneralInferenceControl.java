@@ -25,6 +25,7 @@ import org.opennars.entity.TermLink;
 import org.opennars.inference.BudgetFunctions;
 import org.opennars.inference.RuleTables;
 import org.opennars.io.events.Events;
+import org.opennars.io.jfr.InferenceRecorder;
 import org.opennars.main.Parameters;
 import org.opennars.main.NarParameters;
 import org.opennars.storage.Memory;
@@ -33,53 +34,90 @@ import org.opennars.storage.Memory;
 public class GeneralInferenceControl {
     
     public static void selectConceptForInference(final Memory mem, final NarParameters narParameters) {
-        final Concept currentConcept;
+        if (narParameters.CONCEPTS_FIRED_PER_CYCLE > 1) {
+            ParallelInferenceControl.fireConcepts(mem, narParameters);
+            return;
+        }
+        final Concept currentConcept = takeConceptForInference(mem);
+        if (currentConcept == null) {
+            return;
+        }
+
+        final DerivationContext nal = new DerivationContext(mem, narParameters);
+        nal.setCurrentConcept(currentConcept);
+        final boolean putBackConcept = fireConcept(nal, 1);
+        if(putBackConcept) { // put back
+            putBackConcept(nal);
+        }
+    }
+
+    /**
+     * Take the next concept to fire out of the concept bag, the concept is
+     * owned by the caller until it is put back
+     *
+     * @return the concept, or null if the bag is empty or the selected concept had no links and was removed
+     */
+    public static Concept takeConceptForInference(final Memory mem) {
         synchronized (mem.concepts) {
-            currentConcept = mem.concepts.takeNext();
+            final Concept currentConcept = mem.concepts.takeNext();
             if (currentConcept==null) {
-                return;
+                return null;
             }
             ProcessAnticipation.maintainDisappointedAnticipations(currentConcept);
             if(currentConcept.taskLinks.size() == 0) { //remove concepts without tasklinks and without termlinks
                 mem.concepts.take(currentConcept.getTerm());
                 mem.conceptRemoved(currentConcept);
-                return;
+                return null;
             }
             if(currentConcept.termLinks.size() == 0) {  //remove concepts without tasklinks and without termlinks
                 mem.concepts.take(currentConcept.getTerm());
                 mem.conceptRemoved(currentConcept);
-                return;
+                return null;
             }
+            return currentConcept;
         }
+    }
 
-        final DerivationContext nal = new DerivationContext(mem, narParameters);
-        nal.setCurrentConcept(currentConcept);
-        final boolean putBackConcept = fireConcept(nal, 1);
-        if(putBackConcept) { // put back
-            final float forgetCycles = nal.memory.cycles(nal.memory.param.conceptForgetDurations);
-            nal.currentConcept.setQuality(BudgetFunctions.or(nal.currentConcept.getQuality(),nal.memory.emotion.happy()));
-            synchronized (nal.memory.concepts) {
-                nal.memory.concepts.putBack(nal.currentConcept, forgetCycles, nal.memory);
-            }
+    /** put the fired concept back into the concept bag */
+    public static void putBackConcept(final DerivationContext nal) {
+        final float forgetCycles = nal.memory.cycles(nal.memory.param.conceptForgetDurations);
+        nal.currentConcept.setQuality(BudgetFunctions.or(nal.currentConcept.getQuality(),nal.memory.emotion.happy()));
+        synchronized (nal.memory.concepts) {
+            nal.memory.concepts.putBack(nal.currentConcept, forgetCycles, nal.memory);
         }
     }
 
     // /return true if concept must be put back
     public static boolean fireConcept(final DerivationContext nal, final int numTaskLinks) {
-        for (int i = 0; i < numTaskLinks; i++) {
-            if (nal.currentConcept.taskLinks.size() == 0) {
-                return false;
-            }
-            nal.currentTaskLink = nal.currentConcept.taskLinks.takeNext();                    
-            if (nal.currentTaskLink == null) {
-                return false;
-            }
-            if (nal.currentTaskLink.budget.aboveThreshold()) {
-                fireTaskLink(nal, Parameters.TERMLINK_MAX_REASONED);                    
+        final Object recorded = InferenceRecorder.beginConceptFire();
+        try {
+            for (int i = 0; i < numTaskLinks; i++) {
+                if (!takeTaskLink(nal)) {
+                    return false;
+                }
+                fireTakenTaskLink(nal);
             }
-            nal.currentConcept.taskLinks.putBack(nal.currentTaskLink, nal.memory.cycles(nal.memory.param.taskLinkForgetDurations), nal.memory);
+            return true;
+        } finally {
+            InferenceRecorder.endConceptFire(recorded, nal.currentConcept, numTaskLinks);
         }
-        return true;
+    }
+
+    /** take the next task link of the current concept as the current task link, return false if there is none */
+    public static boolean takeTaskLink(final DerivationContext nal) {
+        if (nal.currentConcept.taskLinks.size() == 0) {
+            return false;
+        }
+        nal.currentTaskLink = nal.currentConcept.taskLinks.takeNext();
+        return nal.currentTaskLink != null;
+    }
+
+    /** fire the current task link and put it back into its concept */
+    public static void fireTakenTaskLink(final DerivationContext nal) {
+        if (nal.currentTaskLink.budget.aboveThreshold()) {
+            fireTaskLink(nal, Parameters.TERMLINK_MAX_REASONED);
+        }
+        nal.currentConcept.putBackTaskLink(nal.currentTaskLink, nal.memory.cycles(nal.memory.param.taskLinkForgetDurations));
     }
     
     protected static void fireTaskLink(final DerivationContext nal, int termLinks) {
@@ -0,0 +1,151 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.control;
+
+import org.opennars.entity.Concept;
+import org.opennars.io.jfr.InferenceRecorder;
+import org.opennars.language.CompoundTerm;
+import org.opennars.language.Term;
+import org.opennars.main.NarParameters;
+import org.opennars.storage.Memory;
+import org.opennars.storage.StreamRandom;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Fires several concepts per cycle on the worker threads of the memory.
+ *
+ * The concepts are taken out of the concept bag before the workers start,
+ * so each one is owned by a single worker while it is fired. The other
+ * workers can still find it through Memory.concept, and only read its
+ * beliefs, which are changed by task processing between the firing phases.
+ * The concept bag itself is only read by the workers, so Memory.concept
+ * looks it up without a lock, and is only changed by the cycle thread
+ * before and after the workers run.
+ * Every worker has its own DerivationContext, and the events and derived
+ * tasks of each concept are collected and then emitted and added to
+ * Memory.newTasks by the cycle thread once all workers are done, in the
+ * order the concepts were taken.
+ *
+ * In deterministic mode the task link of every concept is also taken on the
+ * cycle thread, and the concepts are partitioned by the term of the task
+ * they fire, since the rules update that task. The concepts of a partition
+ * are fired one after the other, and each partition draws its random
+ * numbers from its own stream seeded from Memory.randomSeed, the cycle and
+ * the index of the partition, so the same input gives the same output with
+ * any number of threads.
+ */
+public class ParallelInferenceControl {
+
+    public static void fireConcepts(final Memory mem, final NarParameters narParameters) {
+        final List<Concept> selected = new ArrayList<>(narParameters.CONCEPTS_FIRED_PER_CYCLE);
+        for (int i = 0; i < narParameters.CONCEPTS_FIRED_PER_CYCLE && mem.concepts.size() > 0; i++) {
+            final Concept c = GeneralInferenceControl.takeConceptForInference(mem);
+            if (c != null) {
+                selected.add(c);
+                mem.setFiring(c, true);
+            }
+        }
+        if (selected.isEmpty()) {
+            return;
+        }
+
+        final int n = selected.size();
+        final DerivationContext[] contexts = new DerivationContext[n];
+        final List<Runnable>[] outputs = new List[n];
+        final boolean[] putBack = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            contexts[i] = new DerivationContext(mem, narParameters);
+            contexts[i].setCurrentConcept(selected.get(i));
+            outputs[i] = new ArrayList<>();
+        }
+
+        final List<ForkJoinTask<?>> fires = new ArrayList<>(n);
+        if (narParameters.DETERMINISTIC_INFERENCE) {
+            final Map<Term,List<Integer>> partitions = new LinkedHashMap<>();
+            for (int i = 0; i < n; i++) {
+                putBack[i] = GeneralInferenceControl.takeTaskLink(contexts[i]);
+                if (putBack[i]) {
+                    final Term task = CompoundTerm.replaceIntervals(contexts[i].currentTaskLink.getTarget().getTerm());
+                    partitions.computeIfAbsent(task, t -> new ArrayList<>()).add(i);
+                }
+            }
+            int p = 0;
+            for (final List<Integer> partition : partitions.values()) {
+                final long seed = streamSeed(mem.time(), p++);
+                fires.add(ForkJoinTask.adapt(() -> {
+                    final StreamRandom previous = Memory.randomNumber.setStream(new StreamRandom(seed));
+                    try {
+                        for (final int k : partition) {
+                            mem.deferOutput(outputs[k]);
+                            final Object recorded = InferenceRecorder.beginConceptFire();
+                            try {
+                                GeneralInferenceControl.fireTakenTaskLink(contexts[k]);
+                            } finally {
+                                InferenceRecorder.endConceptFire(recorded, contexts[k].currentConcept, 1);
+                                mem.deferOutput(null);
+                            }
+                        }
+                    } finally {
+                        Memory.randomNumber.setStream(previous);
+                    }
+                }));
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                final int k = i;
+                fires.add(ForkJoinTask.adapt(() -> {
+                    final StreamRandom previous = Memory.randomNumber.setStream(mem.random);
+                    mem.deferOutput(outputs[k]);
+                    try {
+                        putBack[k] = GeneralInferenceControl.fireConcept(contexts[k], 1);
+                    } finally {
+                        mem.deferOutput(null);
+                        Memory.randomNumber.setStream(previous);
+                    }
+                }));
+            }
+        }
+        try {
+            mem.inferencePool(narParameters.INFERENCE_THREADS).invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(fires)));
+        } finally {
+            for (final Concept c : selected) {
+                mem.setFiring(c, false);
+            }
+        }
+
+        //barrier: all concepts are fired, merge their results in selection order
+        for (int i = 0; i < n; i++) {
+            mem.replayOutput(outputs[i]);
+        }
+        for (int i = 0; i < n; i++) {
+            if (putBack[i]) {
+                GeneralInferenceControl.putBackConcept(contexts[i]);
+            }
+        }
+    }
+
+    /** seed of the random stream of a partition, spread so that nearby cycles and partitions get unrelated streams */
+    static long streamSeed(final long cycle, final int partition) {
+        long z = Memory.randomSeed + cycle * 0x9E3779B97F4A7C15L + partition * 0xC2B2AE3D27D4EB4FL;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
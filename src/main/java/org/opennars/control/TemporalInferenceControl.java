@@ -24,9 +24,9 @@ import org.opennars.inference.TemporalRules;
 import org.opennars.io.Symbols;
 import org.opennars.io.events.Events;
 import org.opennars.language.CompoundTerm;
+import org.opennars.language.Term;
 import org.opennars.main.Parameters;
 import org.opennars.operator.Operation;
-import org.opennars.storage.LevelBag;
 import org.opennars.storage.Memory;
 
 import java.util.HashSet;
@@ -63,7 +63,10 @@ public class TemporalInferenceControl {
         final Sentence currentBelief = newEvent;
 
         //if(newEvent.getPriority()>Parameters.TEMPORAL_INDUCTION_MIN_PRIORITY)
-        return TemporalRules.temporalInduction(currentBelief, previousBelief, nal, SucceedingEventsInduction, addToMemory, allowSequence);
+        nal.enterRule("TemporalRules.temporalInduction");
+        final List<Task> derived = TemporalRules.temporalInduction(currentBelief, previousBelief, nal, SucceedingEventsInduction, addToMemory, allowSequence);
+        nal.exitRule();
+        return derived;
     }
 
     public static boolean eventInference(final Task newEvent, final DerivationContext nal) {
@@ -88,8 +91,8 @@ public class TemporalInferenceControl {
             }
 
             if(already_attempted.contains(takeout) || 
-                    Stamp.baseOverlap(newEvent.sentence.stamp.evidentialBase,
-                            takeout.sentence.stamp.evidentialBase)) {
+                    Stamp.baseOverlap(newEvent.sentence.stamp,
+                            takeout.sentence.stamp)) {
                 nal.memory.seq_current.putBack(takeout, nal.memory.cycles(nal.memory.param.eventForgetDurations), nal.memory);
                 continue;
             }
@@ -117,7 +120,7 @@ public class TemporalInferenceControl {
                 final Concept opc = nal.memory.concept(Toperation.getTerm());
                 if(opc != null) {
                     if(opc.seq_before == null) {
-                        opc.seq_before = new LevelBag<>(Parameters.SEQUENCE_BAG_LEVELS, Parameters.SEQUENCE_BAG_SIZE);
+                        opc.seq_before = nal.memory.narParameters.BAG_FACTORY.newSequenceBag();
                     }
                     for(int i = 0; i<Parameters.CONDITION_BAG_ATTEMPTS; i++) {
                         final Task takeout = opc.seq_before.takeNext();
@@ -162,9 +165,9 @@ public class TemporalInferenceControl {
     public static void addToSequenceTasks(final DerivationContext nal, final Task newEvent) {
         //multiple versions are necessary, but we do not allow duplicates
         final List<Task> removals = new LinkedList<>();
+        final Term newEventKey = CompoundTerm.replaceIntervals(newEvent.getTerm());
         for(final Task s : nal.memory.seq_current) {
-            if(CompoundTerm.replaceIntervals(s.getTerm()).equals(
-                    CompoundTerm.replaceIntervals(newEvent.getTerm()))) {
+            if(CompoundTerm.replaceIntervals(s.getTerm()).equals(newEventKey)) {
                     // && //-- new outcommented
                     //s.sentence.stamp.equals(newEvent.sentence.stamp,false,true,true,false) ) {
                 //&& newEvent.sentence.getOccurenceTime()>s.sentence.getOccurenceTime() ) { 
@@ -197,7 +200,7 @@ public class TemporalInferenceControl {
                 event_priority = Math.max(event_quality, c.getPriority());
             }
             final Task t2 = new Task(newEvent.sentence, new BudgetValue(event_priority, 1.0f/(float)newEvent.sentence.term.getComplexity(), event_quality), newEvent.getParentBelief(), newEvent.getBestSolution());
-            nal.memory.seq_current.putIn(t2);
+            nal.memory.seq_current.putIn(t2, nal.memory);
         }
     }
     
@@ -214,16 +217,16 @@ public class TemporalInferenceControl {
             mem.recent_operations.take(t);
         }
         task.setPriority(BudgetFunctions.or(task.getPriority(), priorityGain)); //this way operations priority of previous exections
-        mem.recent_operations.putIn(task);                 //contributes to the current (enhancement)
+        mem.recent_operations.putIn(task, mem);                 //contributes to the current (enhancement)
         mem.lastDecision = task;
         final Concept c = mem.concept(task.getTerm());
         if(c != null) {
             if(c.seq_before == null) {
-                c.seq_before = new LevelBag<>(Parameters.SEQUENCE_BAG_LEVELS, Parameters.SEQUENCE_BAG_SIZE);
+                c.seq_before = mem.narParameters.BAG_FACTORY.newSequenceBag();
             }
             for(final Task t : mem.seq_current) {
                 if(task.sentence.getOccurenceTime() > t.sentence.getOccurenceTime()) {
-                    c.seq_before.putIn(t);
+                    c.seq_before.putIn(t, mem);
                 }
             }
         }
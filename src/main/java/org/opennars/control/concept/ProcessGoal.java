@@ -15,9 +15,7 @@
 package org.opennars.control.concept;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import org.opennars.control.DerivationContext;
 import org.opennars.entity.BudgetValue;
 import org.opennars.entity.Concept;
@@ -89,7 +87,9 @@ public class ProcessGoal {
                 final Sentence projectedGoal = oldGoal.projection(task.sentence.getOccurenceTime(), newStamp.getOccurrenceTime());
                 if (projectedGoal!=null) {
                     nal.setCurrentBelief(projectedGoal);
+                    nal.enterRule("LocalRules.revision");
                     final boolean successOfRevision=revision(task.sentence, projectedGoal, false, nal);
+                    nal.exitRule();
                     if(successOfRevision) { // it is revised, so there is a new task for which this function will be called
                         return; // with higher/lower desire
                     } //it is not allowed to go on directly due to decision making https://groups.google.com/forum/#!topic/open-nars/lQD0no2ovx4
@@ -98,8 +98,8 @@ public class ProcessGoal {
         }
         final Stamp s2=goal.stamp.clone();
         s2.setOccurrenceTime(concept.memory.time());
-        if(s2.after(task.sentence.stamp, Parameters.DURATION)) { //this task is not up to date we have to project it first
-            final Sentence projGoal = task.sentence.projection(concept.memory.time(), Parameters.DURATION);
+        if(s2.after(task.sentence.stamp, nal.narParameters.DURATION)) { //this task is not up to date we have to project it first
+            final Sentence projGoal = task.sentence.projection(concept.memory.time(), nal.narParameters.DURATION);
             if(projGoal!=null && projGoal.truth.getExpectation() > nal.narParameters.DECISION_THRESHOLD) {
                 nal.singlePremiseTask(projGoal, task.budget.clone()); //keep goal updated
                 // return false; //outcommented, allowing "roundtrips now", relevant for executing multiple steps of learned implication chains
@@ -109,7 +109,7 @@ public class ProcessGoal {
             double AntiSatisfaction = 0.5f; //we dont know anything about that goal yet, so we pursue it to remember it because its maximally unsatisfied
             if (beliefT != null) {
                 final Sentence belief = beliefT.sentence;
-                final Sentence projectedBelief = belief.projection(task.sentence.getOccurenceTime(), Parameters.DURATION);
+                final Sentence projectedBelief = belief.projection(task.sentence.getOccurenceTime(), nal.narParameters.DURATION);
                 AntiSatisfaction = task.sentence.truth.getExpDifAbs(projectedBelief.truth);
             }
             final double Satisfaction=1.0-AntiSatisfaction;
@@ -119,7 +119,7 @@ public class ProcessGoal {
             }
             final TruthValue T=goal.truth.clone();
             T.setFrequency((float) (T.getFrequency()-Satisfaction)); //decrease frequency according to satisfaction value
-            final boolean fullfilled = AntiSatisfaction < Parameters.SATISFACTION_TRESHOLD;
+            final boolean fullfilled = AntiSatisfaction < nal.narParameters.SATISFACTION_TRESHOLD;
             final Sentence projectedGoal = goal.projection(nal.memory.time(),nal.memory.time());
             if (!(projectedGoal != null && task.aboveThreshold() && !fullfilled)) {
                 return;
@@ -149,20 +149,7 @@ public class ProcessGoal {
         if(projectedGoal.truth.getExpectation() > nal.narParameters.DECISION_THRESHOLD && nal.memory.time() >= concept.memory.decisionBlock) {
             //see whether the goal evidence is fully included in the old goal, if yes don't execute
             //as execution for this reason already happened (or did not since there was evidence against it)
-            final Set<Long> oldEvidence = new HashSet<>();
-            boolean Subset=false;
-            if(oldGoalT != null) {
-                Subset = true;
-                for(final Long l: oldGoalT.sentence.stamp.evidentialBase) {
-                    oldEvidence.add(l);
-                }
-                for(final Long l: task.sentence.stamp.evidentialBase) {
-                    if(!oldEvidence.contains(l)) {
-                        Subset = false;
-                        break;
-                    }
-                }
-            }
+            final boolean Subset = oldGoalT != null && oldGoalT.sentence.stamp.evidenceIncludes(task.sentence.stamp);
             if(!Subset && !executeOperation(nal, task)) {
                 concept.memory.emit(Events.UnexecutableGoal.class, task, concept, nal);
                 return; //it was made true by itself
@@ -178,10 +165,10 @@ public class ProcessGoal {
      * @param nal The derivation context
      */    
     public static void questionFromGoal(final Task task, final DerivationContext nal) {
-        if(Parameters.QUESTION_GENERATION_ON_DECISION_MAKING || Parameters.HOW_QUESTION_GENERATION_ON_DECISION_MAKING) {
+        if(nal.narParameters.QUESTION_GENERATION_ON_DECISION_MAKING || nal.narParameters.HOW_QUESTION_GENERATION_ON_DECISION_MAKING) {
             //ok, how can we achieve it? add a question of whether it is fullfilled
             final List<Term> qu= new ArrayList<>();
-            if(Parameters.HOW_QUESTION_GENERATION_ON_DECISION_MAKING) {
+            if(nal.narParameters.HOW_QUESTION_GENERATION_ON_DECISION_MAKING) {
                 if(!(task.sentence.term instanceof Equivalence) && !(task.sentence.term instanceof Implication)) {
                     final Variable how=new Variable("?how");
                     //Implication imp=Implication.make(how, task.sentence.term, TemporalRules.ORDER_CONCURRENT);
@@ -192,7 +179,7 @@ public class ProcessGoal {
                     }
                 }
             }
-            if(Parameters.QUESTION_GENERATION_ON_DECISION_MAKING) {
+            if(nal.narParameters.QUESTION_GENERATION_ON_DECISION_MAKING) {
                 qu.add(task.sentence.term);
             }
             for(final Term q : qu) {
@@ -206,7 +193,7 @@ public class ProcessGoal {
                         st);
 
                     if(s!=null) {
-                        final BudgetValue budget=new BudgetValue(task.getPriority()*Parameters.CURIOSITY_DESIRE_PRIORITY_MUL,task.getDurability()*Parameters.CURIOSITY_DESIRE_DURABILITY_MUL,1);
+                        final BudgetValue budget=new BudgetValue(task.getPriority()*nal.narParameters.CURIOSITY_DESIRE_PRIORITY_MUL,task.getDurability()*nal.narParameters.CURIOSITY_DESIRE_DURABILITY_MUL,1);
                         nal.singlePremiseTask(s, budget);
                     }
                 }
@@ -271,9 +258,9 @@ public class ProcessGoal {
             //and the truth of the hypothesis:
             final TruthValue Hyp = t.sentence.truth;
             //overlap will almost never happen, but to make sure
-            if(Stamp.baseOverlap(projectedGoal.stamp.evidentialBase, t.sentence.stamp.evidentialBase) ||
-               Stamp.baseOverlap(bestsofar.sentence.stamp.evidentialBase, t.sentence.stamp.evidentialBase) ||
-               Stamp.baseOverlap(projectedGoal.stamp.evidentialBase, bestsofar.sentence.stamp.evidentialBase)) {
+            if(Stamp.baseOverlap(projectedGoal.stamp, t.sentence.stamp) ||
+               Stamp.baseOverlap(bestsofar.sentence.stamp, t.sentence.stamp) ||
+               Stamp.baseOverlap(projectedGoal.stamp, bestsofar.sentence.stamp)) {
                 continue;
             }
             //and the truth of the precondition:
@@ -75,7 +75,9 @@ public class ProcessJudgment {
                 final Sentence projectedBelief = oldBelief.projection(concept.memory.time(), newStamp.getOccurrenceTime());
                 if (projectedBelief!=null) {
                     nal.setCurrentBelief(projectedBelief);
+                    nal.enterRule("LocalRules.revision");
                     revision(judg, projectedBelief, false, nal);
+                    nal.exitRule();
                 }
             }
         }
@@ -15,6 +15,7 @@
 package org.opennars.control.concept;
 
 import java.util.List;
+import java.util.Set;
 import org.opennars.control.DerivationContext;
 import org.opennars.entity.Concept;
 import org.opennars.entity.Sentence;
@@ -55,11 +56,11 @@ public class ProcessQuestion {
         if (newQuestion) {
             if (questions.size() + 1 > Parameters.CONCEPT_QUESTIONS_MAX) {
                 final Task removed = questions.remove(0);    // FIFO
-                concept.memory.event.emit(Events.ConceptQuestionRemove.class, concept, removed);
+                concept.memory.emit(Events.ConceptQuestionRemove.class, concept, removed);
             }
 
             questions.add(task);
-            concept.memory.event.emit(Events.ConceptQuestionAdd.class, concept, task);
+            concept.memory.emit(Events.ConceptQuestionAdd.class, concept, task);
         }
         final Sentence ques = quesTask.sentence;
         final Task newAnswerT = (ques.isQuestion())
@@ -85,8 +86,15 @@ public class ProcessQuestion {
      */
     public static void ProcessWhatQuestion(final Concept concept, final Task ques, final DerivationContext nal) {
         if(!(ques.sentence.isJudgment()) && ques.getTerm().hasVarQuery()) { //ok query var, search
+            final Set<TaskLink> candidates = concept.taskLinksAnswering(ques.getTerm());
+            if(candidates.isEmpty()) {
+                return;
+            }
             boolean newAnswer = false;
             for(final TaskLink t : concept.taskLinks) {
+                if(!candidates.contains(t)) { //in the order of the bag, as the answers are tried in turn
+                    continue;
+                }
                 final Term[] u = new Term[] { ques.getTerm(), t.getTerm() };
                 if(!t.getTerm().hasVarQuery() && Variables.unify(Symbols.VAR_QUERY, u)) {
                     final Concept c = nal.memory.concept(t.getTerm());
@@ -119,7 +127,14 @@ public class ProcessQuestion {
      */
     public static void ProcessWhatQuestionAnswer(final Concept concept, final Task t, final DerivationContext nal) {
         if(!t.sentence.term.hasVarQuery() && t.sentence.isJudgment() || t.sentence.isGoal()) { //ok query var, search
+            final Set<TaskLink> candidates = concept.taskLinksAskingFor(t.getTerm());
+            if(candidates.isEmpty()) {
+                return;
+            }
             for(final TaskLink quess: concept.taskLinks) {
+                if(!candidates.contains(quess)) {
+                    continue;
+                }
                 final Task ques = quess.getTarget();
                 if(((ques.sentence.isQuestion() && t.sentence.isJudgment()) ||
                     (ques.sentence.isGoal()     && t.sentence.isJudgment()) ||
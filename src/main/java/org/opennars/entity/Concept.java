@@ -25,13 +25,15 @@ import org.opennars.main.Parameters;
 import org.opennars.main.Shell;
 import org.opennars.main.NarParameters;
 import org.opennars.storage.Bag;
-import org.opennars.storage.LevelBag;
 import org.opennars.storage.Memory;
+import org.opennars.storage.TermIndex;
 
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import org.opennars.control.concept.ProcessAnticipation;
 import org.opennars.control.concept.ProcessQuestion;
 
@@ -56,6 +58,15 @@ public class Concept extends Item<Term> implements Serializable {
      */
     public final Bag<TaskLink,Task> taskLinks;
 
+    /**
+     * The task links of questions, quests and goals with query variables,
+     * and once the concept was asked such a question those of the other
+     * tasks, by the terms of their tasks, to find which may answer which
+     * without trying to unify them all
+     */
+    private final TermIndex<TaskLink> queryTaskLinks = new TermIndex<>();
+    private TermIndex<TaskLink> answerTaskLinks;
+
     /**
      * Term links between the term and its components and compounds; beliefs
      */
@@ -124,8 +135,8 @@ public class Concept extends Item<Term> implements Serializable {
         this.quests = new ArrayList<>();
         this.desires = new ArrayList<>();
 
-        this.taskLinks = new LevelBag<>(Parameters.TASK_LINK_BAG_LEVELS, Parameters.TASK_LINK_BAG_SIZE);
-        this.termLinks = new LevelBag<>(Parameters.TERM_LINK_BAG_LEVELS, Parameters.TERM_LINK_BAG_SIZE);
+        this.taskLinks = memory.narParameters.BAG_FACTORY.newTaskLinkBag();
+        this.termLinks = memory.narParameters.BAG_FACTORY.newTermLinkBag();
                 
         if (tm instanceof CompoundTerm) {
             this.termLinkTemplates = ((CompoundTerm) tm).prepareComponentLinks();
@@ -162,10 +173,10 @@ public class Concept extends Item<Term> implements Serializable {
         }
 
         if (removed != null) {
-            memory.event.emit(eventRemove, this, removed, task, extraEventArguments);
+            memory.emit(eventRemove, this, removed, task, extraEventArguments);
         }
         if ((preSize != table.size()) || (removed != null)) {
-            memory.event.emit(eventAdd, this, task, extraEventArguments);
+            memory.emit(eventAdd, this, task, extraEventArguments);
         }
     }
     
@@ -316,13 +327,15 @@ public class Concept extends Item<Term> implements Serializable {
                 }
                 if(nSameContent > Parameters.TASKLINK_PER_CONTENT) { //ok we reached the maximum so lets delete the lowest
                     taskLinks.take(lowest);
+                    unindexTaskLink(lowest);
                     memory.emit(TaskLinkRemove.class, lowest, this);
                     break;
                 }
             }
         }
         //END HANDLE MAX PER CONTENT
-        final TaskLink removed = taskLinks.putIn(taskLink);      
+        final TaskLink removed = taskLinks.putIn(taskLink, memory);      
+        taskLinkPutIn(taskLink, removed);
         if (removed!=null) {
             if (removed == taskLink) {
                 memory.emit(TaskLinkRemove.class, taskLink, this);
@@ -338,6 +351,90 @@ public class Concept extends Item<Term> implements Serializable {
         return true;
     }
 
+    /**
+     * Put back a task link taken out of the task link bag
+     *
+     * @return the task link removed from the bag, or null if none
+     */
+    public TaskLink putBackTaskLink(final TaskLink taskLink, final float forgetCycles) {
+        final TaskLink removed = taskLinks.putBack(taskLink, forgetCycles, memory);
+        taskLinkPutIn(taskLink, removed);
+        return removed;
+    }
+
+    /** keep the indexes of the task links in step with the bag after a task link was put in */
+    private void taskLinkPutIn(final TaskLink taskLink, final TaskLink removed) {
+        if (removed != null && removed != taskLink) {
+            unindexTaskLink(removed);
+        }
+        if (taskLinks.get(taskLink.name()) == taskLink) {
+            indexTaskLink(taskLink);
+        } else { //not inserted, or merged into the link of the same task
+            unindexTaskLink(taskLink);
+        }
+    }
+
+    private TermIndex<TaskLink> taskLinkIndex(final TaskLink taskLink) {
+        final Task target = taskLink.getTarget();
+        if (target.getTerm().hasVarQuery()) {
+            return target.sentence.isJudgment() ? null : queryTaskLinks;
+        }
+        return answerTaskLinks;
+    }
+
+    private void indexTaskLink(final TaskLink taskLink) {
+        final TermIndex<TaskLink> index = taskLinkIndex(taskLink);
+        if (index != null && !taskLink.indexed) {
+            index.put(taskLink.getTerm(), taskLink);
+            taskLink.indexed = true;
+        }
+    }
+
+    private void unindexTaskLink(final TaskLink taskLink) {
+        if (taskLink.indexed) {
+            final TermIndex<TaskLink> index = taskLinkIndex(taskLink);
+            if (index != null) {
+                index.remove(taskLink.getTerm(), taskLink);
+            }
+            taskLink.indexed = false;
+        }
+    }
+
+    /**
+     * The task links whose terms may answer a question with query variables
+     *
+     * @param question the term of the question
+     * @return the task links, a superset of those whose terms unify with it
+     */
+    public Set<TaskLink> taskLinksAnswering(final Term question) {
+        if (answerTaskLinks == null) {
+            answerTaskLinks = new TermIndex<>();
+            for (final TaskLink t : taskLinks) {
+                indexTaskLink(t);
+            }
+        }
+        return unifiable(answerTaskLinks, question);
+    }
+
+    /**
+     * The task links of the questions, quests and goals with query variables an answer may be for
+     *
+     * @param answer the term of the answer
+     * @return the task links, a superset of those whose terms unify with it
+     */
+    public Set<TaskLink> taskLinksAskingFor(final Term answer) {
+        return unifiable(queryTaskLinks, answer);
+    }
+
+    private static Set<TaskLink> unifiable(final TermIndex<TaskLink> index, final Term t) {
+        if (index.size() == 0) {
+            return Collections.emptySet();
+        }
+        final Set<TaskLink> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        index.unifiable(t, result);
+        return result;
+    }
+
 
     /**
      * Recursively build TermLinks between a compound and its components
@@ -387,7 +484,7 @@ public class Concept extends Item<Term> implements Serializable {
      * @param termLink The termLink to be inserted
      */
     public boolean insertTermLink(final TermLink termLink) {
-        final TermLink removed = termLinks.putIn(termLink);
+        final TermLink removed = termLinks.putIn(termLink, memory);
         if (removed!=null) {
             if (removed == termLink) {
                 memory.emit(TermLinkRemove.class, termLink, this);
@@ -526,6 +623,8 @@ public class Concept extends Item<Term> implements Serializable {
         //evidentalDiscountBases.clear();
         termLinks.clear();
         taskLinks.clear();        
+        queryTaskLinks.clear();
+        answerTaskLinks = null;
         beliefs.clear();
         termLinkTemplates.clear();
     }
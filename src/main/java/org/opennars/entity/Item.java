@@ -14,9 +14,11 @@
  */
 package org.opennars.entity;
 
+import org.opennars.storage.Bag;
 import org.opennars.storage.Memory;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Comparator;
 
 /**
@@ -44,6 +46,22 @@ public abstract class Item<K> implements Serializable {
     /** The budget of the Item, consisting of 3 numbers */
     public final BudgetValue budget;
 
+    /**
+     * The bag which last filed this item and the level it was filed under,
+     * so the item can be removed again without recomputing its level from a
+     * priority which may have changed since.  Only valid while filedIn is the
+     * bag asking, as the same item can be put into several bags.
+     */
+    public transient Bag filedIn;
+    public transient int filedLevel;
+
+    /**
+     * Cycles at which forgetting was last applied in lazy forgetting mode,
+     * by bag, as pairs of bag id and cycle, as the same item can be in
+     * several bags which each forget it at their own pace
+     */
+    private long[] lastForgotten;
+
     public Item() { // items that do not need budget
         this.budget = null;
     }
@@ -61,6 +79,48 @@ public abstract class Item<K> implements Serializable {
     }
 
 
+    /**
+     * Get the cycle at which forgetting was last applied in a bag
+     *
+     * @param bag The id of the bag
+     * @return The cycle, -1 if never
+     */
+    public long lastForgotten(final int bag) {
+        final long[] f = lastForgotten;
+        if (f != null) {
+            for (int i = 0; i < f.length; i += 2) {
+                if (f[i] == bag) {
+                    return f[i + 1];
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Set the cycle at which forgetting was last applied in a bag
+     *
+     * @param bag The id of the bag
+     * @param time The cycle
+     */
+    public void setLastForgotten(final int bag, final long time) {
+        long[] f = lastForgotten;
+        if (f != null) {
+            for (int i = 0; i < f.length; i += 2) {
+                if (f[i] == bag) {
+                    f[i + 1] = time;
+                    return;
+                }
+            }
+            f = Arrays.copyOf(f, f.length + 2);
+        } else {
+            f = new long[2];
+        }
+        f[f.length - 2] = bag;
+        f[f.length - 1] = time;
+        lastForgotten = f;
+    }
+
     /**
      * Get the current key
      * @return Current key value
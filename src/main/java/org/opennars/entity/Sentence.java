@@ -223,7 +223,7 @@ public class Sentence<T extends Term> implements Cloneable, Serializable {
             c.setNormalized(true);
         }
         else {
-            this.term = _content;
+            this.term = (T) TermInterner.intern(_content);
         }
     
         if (isNotTermlinkNormalizer())
@@ -488,7 +488,7 @@ public class Sentence<T extends Term> implements Cloneable, Serializable {
         final long diffabs = Math.abs(diff);
         
         String timediff = "";
-        if(diffabs < Parameters.DURATION) {
+        if(diffabs < nar.narParameters.DURATION) {
             timediff = "|";
         }
         else {
@@ -22,8 +22,6 @@ import org.opennars.storage.Memory;
 
 import java.io.Serializable;
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
 
 import static org.opennars.inference.TemporalRules.*;
 import static org.opennars.language.Tense.*;
@@ -40,8 +38,30 @@ public class Stamp implements Cloneable, Serializable {
     private long occurrenceTime;
     /*default for atemporal events means "always" in Judgment/Question, but "current" in Goal/Quest*/
     public static final long ETERNAL = Integer.MIN_VALUE;
-    /** caches evidentialBase as a set for comparisons and hashcode, stores the unique Long's in-order for efficiency*/    
-    private long[] evidentialSet = null;
+    /**
+     * evidentialBase as a set, with its hash and a bloom filter of its serials,
+     * immutable so that stamps shared by threads always see all three at once
+     */
+    private static final class EvidentialSet {
+        /** the unique serials in order */
+        final long[] serials;
+        final int hash;
+        /** one bit per serial modulo 64 */
+        final long mask;
+
+        EvidentialSet(final long[] evidentialBase) {
+            serials = toSetArray(evidentialBase);
+            long m = 0;
+            for (final long serial : serials) {
+                m |= 1L << serial;
+            }
+            mask = m;
+            hash = Arrays.hashCode(serials);
+        }
+    }
+
+    /** caches evidentialBase as a set for comparisons and hashcode, null while not computed */
+    private transient EvidentialSet evidentialSet = null;
     /*Tense of the item*/
     private Tense tense;
     /*True when its a neg confirmation task that was already checked:*/
@@ -56,9 +76,6 @@ public class Stamp implements Cloneable, Serializable {
      * Uses LinkedHashSet for optimal contains/indexOf performance.
      * TODO use thread-safety for this
      */
-    
-    /** cache of hashcode of evidential base */
-    private int evidentialHash;
 
     
     public boolean before(final Stamp s, final int duration) {
@@ -120,6 +137,8 @@ public class Stamp implements Cloneable, Serializable {
     public Stamp(final Stamp old, final long creationTime, final Stamp useEvidentialBase) {        
         this.evidentialBase = useEvidentialBase.evidentialBase;
         this.baseLength = useEvidentialBase.baseLength;
+        //the same base, so the same set
+        this.evidentialSet = useEvidentialBase.evidentialSet;
         this.creationTime = creationTime;
 
         this.occurrenceTime = old.getOccurrenceTime();
@@ -160,7 +179,7 @@ public class Stamp implements Cloneable, Serializable {
     }
 
     public Stamp(final Memory memory, final Tense tense) {
-        this(memory.time(), tense, memory.newStampSerial(), Parameters.DURATION);
+        this(memory.time(), tense, memory.newStampSerial(), memory.narParameters.DURATION);
     }
 
     /** creates a stamp with default Present tense */
@@ -168,33 +187,70 @@ public class Stamp implements Cloneable, Serializable {
         this(memory, Tense.Present);
     }
     
+    /** Detects evidental base overlaps, including overlaps of a base with itself **/
+    public static boolean baseOverlap(final Stamp s1, final Stamp s2) {
+        final EvidentialSet set1 = s1.evidentialSet();
+        final EvidentialSet set2 = s2.evidentialSet();
+        if (set1.serials.length < s1.evidentialBase.length || set2.serials.length < s2.evidentialBase.length) { //can have an overlap in itself already
+            return true;
+        }
+        if ((set1.mask & set2.mask) == 0) {
+            return false;
+        }
+        return intersect(set1.serials, set2.serials);
+    }
+
     /** Detects evidental base overlaps **/
     public static boolean baseOverlap(final long[] base1, final long[] base2) {
-        final Set<Long> task_base = new HashSet<>(base1.length + base2.length);
-        for (final long aBase1 : base1) {
-            if (task_base.contains(aBase1)) { //can have an overlap in itself already
-                return true;
-            }
-            task_base.add(aBase1);
+        final long[] set1 = toSetArray(base1);
+        final long[] set2 = toSetArray(base2);
+        if (set1.length < base1.length || set2.length < base2.length) { //can have an overlap in itself already
+            return true;
         }
-        for (final long aBase2 : base2) {
-            if (task_base.contains(aBase2)) {
+        return intersect(set1, set2);
+    }
+
+    /** whether two sorted arrays have a common element, by merging them */
+    private static boolean intersect(final long[] set1, final long[] set2) {
+        int i = 0, j = 0;
+        while (i < set1.length && j < set2.length) {
+            final long a = set1[i];
+            final long b = set2[j];
+            if (a == b) {
                 return true;
             }
-            task_base.add(aBase2); //also add to detect collision with itself
+            if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
         }
         return false;
-     }
-    
-    public boolean evidenceIsCyclic() {
-        final Set<Long> task_base = new HashSet<>(this.evidentialBase.length);
-        for (final long anEvidentialBase : this.evidentialBase) {
-            if (task_base.contains(anEvidentialBase)) { //can have an overlap in itself already
-                return true;
+    }
+
+    /** whether all the evidence of the other stamp is in this one */
+    public boolean evidenceIncludes(final Stamp s) {
+        final EvidentialSet e1 = evidentialSet();
+        final EvidentialSet e2 = s.evidentialSet();
+        if ((e2.mask & ~e1.mask) != 0 || e2.serials.length > e1.serials.length) {
+            return false;
+        }
+        final long[] set1 = e1.serials;
+        final long[] set2 = e2.serials;
+        int i = 0;
+        for (final long b : set2) {
+            while (i < set1.length && set1[i] < b) {
+                i++;
+            }
+            if (i == set1.length || set1[i] != b) {
+                return false;
             }
-            task_base.add(anEvidentialBase);
         }
-        return false;
+        return true;
+    }
+    
+    public boolean evidenceIsCyclic() {
+        return toSet().length < evidentialBase.length;
     }
 
     public boolean isEternal() {
@@ -282,12 +338,15 @@ public class Stamp implements Cloneable, Serializable {
      * @return The NavigableSet representation of the evidential base
      */
     private long[] toSet() {        
-        if (evidentialSet == null) {        
-            evidentialSet = toSetArray(evidentialBase);
-            evidentialHash = Arrays.hashCode(evidentialSet);
+        return evidentialSet().serials;
+    }
+
+    private EvidentialSet evidentialSet() {
+        EvidentialSet set = evidentialSet;
+        if (set == null) {
+            evidentialSet = set = new EvidentialSet(evidentialBase);
         }
-        
-        return evidentialSet;
+        return set;
     }
 
     
@@ -322,9 +381,7 @@ public class Stamp implements Cloneable, Serializable {
      * @return The hash code
      */
     public final int evidentialHash() {
-        if (evidentialSet==null)
-            toSet();       
-        return evidentialHash;
+        return evidentialSet().hash;
     }
     
     public Stamp cloneWithNewOccurrenceTime(final long newOcurrenceTime) {
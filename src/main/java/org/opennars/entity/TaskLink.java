@@ -72,6 +72,9 @@ public class TaskLink extends Item<Task> implements TLink<Task>, Serializable {
     /** The index of the component in the component list of the compound, may have up to 4 levels */
     public final short[] index;
 
+    /** whether it is in an index of the task links of its concept */
+    boolean indexed;
+
     
     /**
      * Constructor
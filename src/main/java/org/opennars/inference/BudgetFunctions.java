@@ -184,6 +184,30 @@ public final class BudgetFunctions extends UtilityFunctions {
         return quality;
     }
 
+    /**
+     * Decrease Priority for the cycles elapsed since the item was last forgotten,
+     * used by Bag.putBack in lazy forgetting mode.
+     * One elapsed cycle gives the same result as applyForgetting, and no
+     * elapsed cycle leaves the priority unchanged.
+     *
+     * @param budget The previous budget value
+     * @param forgetCycles The budget for the new item
+     * @param relativeThreshold The relative threshold of the bag
+     * @param elapsedCycles Cycles since the priority was last decreased
+     */
+    public static float applyForgetting(final BudgetValue budget, final float forgetCycles, final float relativeThreshold, final long elapsedCycles) {
+        if (elapsedCycles <= 0) {
+            return budget.getPriority();
+        }
+        float quality = budget.getQuality() * relativeThreshold;      // re-scaled quality
+        final float p = budget.getPriority() - quality;                     // priority above quality
+        if (p > 0) {
+            quality += p * pow(budget.getDurability(), elapsedCycles / (forgetCycles * p));
+        }    // priority Durability
+        budget.setPriority(quality);
+        return quality;
+    }
+
     
     /**
      * Merge an item into another one in a bag, when the two are identical
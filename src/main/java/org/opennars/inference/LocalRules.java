@@ -94,7 +94,7 @@ public class LocalRules {
         return (s1.getRevisible() && 
                 matchingOrder(s1.getTemporalOrder(), s2.getTemporalOrder()) &&
                 CompoundTerm.replaceIntervals(s1.term).equals(CompoundTerm.replaceIntervals(s2.term)) &&
-                !Stamp.baseOverlap(s1.stamp.evidentialBase, s2.stamp.evidentialBase));
+                !Stamp.baseOverlap(s1.stamp, s2.stamp));
     }
 
     /**
@@ -121,24 +121,26 @@ public class LocalRules {
             final Term cterm = replaceIntervals(newBelief.getTerm());
             final Concept c = nal.memory.concept(cterm);
             final List<Long> ivalOld = extractIntervals(nal.memory, oldBelief.getTerm());
-            if(c.recent_intervals.size() == 0) {
-                for(final Long l : ivalOld) {
-                    c.recent_intervals.add((float) l);
-                }
-            }
             final List<Long> ivalNew = extractIntervals(nal.memory, newBelief.getTerm());
-            for(int i=0;i<ivalNew.size();i++) {
-                final float Inbetween = (c.recent_intervals.get(i)+ivalNew.get(i)) / 2.0f; //vote as one new entry, turtle style
-                final float speed = 1.0f / (Parameters.INTERVAL_ADAPT_SPEED*(1.0f-newBelief.getTruth().getExpectation())); //less truth expectation, slower
-                c.recent_intervals.set(i,c.recent_intervals.get(i)+speed*(Inbetween - c.recent_intervals.get(i)));
-            }
             long AbsDiffSumNew = 0;
-            for(int i=0;i<ivalNew.size();i++) {
-                AbsDiffSumNew += Math.abs(ivalNew.get(i) - c.recent_intervals.get(i));
-            }
             long AbsDiffSumOld = 0;
-            for(int i=0;i<ivalNew.size();i++) {
-                AbsDiffSumOld += Math.abs(ivalOld.get(i) - c.recent_intervals.get(i));
+            synchronized (c) { //the concept may also be revised by a thread firing another concept in parallel
+                if(c.recent_intervals.size() == 0) {
+                    for(final Long l : ivalOld) {
+                        c.recent_intervals.add((float) l);
+                    }
+                }
+                for(int i=0;i<ivalNew.size();i++) {
+                    final float Inbetween = (c.recent_intervals.get(i)+ivalNew.get(i)) / 2.0f; //vote as one new entry, turtle style
+                    final float speed = 1.0f / (Parameters.INTERVAL_ADAPT_SPEED*(1.0f-newBelief.getTruth().getExpectation())); //less truth expectation, slower
+                    c.recent_intervals.set(i,c.recent_intervals.get(i)+speed*(Inbetween - c.recent_intervals.get(i)));
+                }
+                for(int i=0;i<ivalNew.size();i++) {
+                    AbsDiffSumNew += Math.abs(ivalNew.get(i) - c.recent_intervals.get(i));
+                }
+                for(int i=0;i<ivalNew.size();i++) {
+                    AbsDiffSumOld += Math.abs(ivalOld.get(i) - c.recent_intervals.get(i));
+                }
             }
             long AbsDiffSum = 0;
             for(int i=0;i<ivalNew.size();i++) {
@@ -18,6 +18,7 @@ import org.opennars.control.DerivationContext;
 import org.opennars.entity.*;
 import org.opennars.io.Symbols;
 import org.opennars.io.events.Events;
+import org.opennars.io.jfr.InferenceRecorder;
 import org.opennars.language.*;
 import org.opennars.main.Parameters;
 import org.opennars.operator.Operation;
@@ -43,6 +44,15 @@ public class RuleTables {
      * @param memory Reference to the memory
      */
     public static void reason(final TaskLink tLink, final TermLink bLink, final DerivationContext nal) {
+        final Object recorded = InferenceRecorder.beginRule();
+        try {
+            reasonTaskAndBelief(tLink, bLink, nal);
+        } finally {
+            InferenceRecorder.endRule(recorded, tLink, bLink);
+        }
+    }
+
+    private static void reasonTaskAndBelief(final TaskLink tLink, final TermLink bLink, final DerivationContext nal) {
 
         // REFACTOR< the body should be split into another static function >
 
@@ -66,7 +76,7 @@ public class RuleTables {
           /*Sentence belief_event = beliefConcept.getBeliefForTemporalInference(task);
             if(belief_event != null) {
                 boolean found_overlap = false;
-                if(Stamp.baseOverlap(task.sentence.stamp.evidentialBase, belief_event.stamp.evidentialBase)) {
+                if(Stamp.baseOverlap(task.sentence.stamp, belief_event.stamp)) {
                     found_overlap = true;
                 }
                 if(!found_overlap) { //temporal rules are inductive so no chance to succeed if there is an overlap
@@ -81,14 +91,17 @@ public class RuleTables {
             }*/
             
             //too restrictive, its checked for non-deductive inference rules in derivedTask (also for single prem)
-            nal.evidentalOverlap = Stamp.baseOverlap(task.sentence.stamp.evidentialBase, belief.stamp.evidentialBase);
+            nal.evidentalOverlap = Stamp.baseOverlap(task.sentence.stamp, belief.stamp);
             if(nal.evidentalOverlap && (!task.sentence.isEternal() || !belief.isEternal())) {
                 return; //only allow for eternal reasoning for now to prevent derived event floods
             }
             
             nal.emit(Events.BeliefReason.class, belief, beliefTerm, taskTerm, nal);
             
-            if (LocalRules.match(task, belief, nal)) { //new tasks resulted from the match, so return
+            nal.enterRule("LocalRules.match");
+            final boolean matched = LocalRules.match(task, belief, nal);
+            nal.exitRule();
+            if (matched) { //new tasks resulted from the match, so return
                 return;
             }
         }
@@ -123,30 +136,42 @@ public class RuleTables {
                     case TermLink.COMPONENT_STATEMENT:
                         if (belief != null) {
                             if (taskTerm instanceof Statement) {
+                                nal.enterRule("SyllogisticRules.detachment");
                                 SyllogisticRules.detachment(taskSentence, belief, bIndex, nal);
+                                nal.exitRule();
                             }
                         } //else {
                         if(taskSentence.term instanceof Inheritance || taskSentence.term instanceof Similarity) {
+                            nal.enterRule("StructuralRules.transformNegation");
                             StructuralRules.transformNegation((CompoundTerm) Negation.make(taskSentence.term), nal);
+                            nal.exitRule();
                         }
+                        nal.enterRule("RuleTables.goalFromQuestion");
                         goalFromQuestion(task, taskTerm, nal);
+                        nal.exitRule();
                         //}
                         break;
                     case TermLink.COMPOUND_STATEMENT:
                         if (belief != null) {
+                            nal.enterRule("SyllogisticRules.detachment");
                             SyllogisticRules.detachment(belief, taskSentence, bIndex, nal);
+                            nal.exitRule();
                         }
                         break;
                     case TermLink.COMPONENT_CONDITION:
                         if ((belief != null) && (taskTerm instanceof Implication)) {
                             bIndex = bLink.getIndex(1);
+                            nal.enterRule("SyllogisticRules.conditionalDedInd");
                             SyllogisticRules.conditionalDedInd(task.sentence,(Implication) taskTerm, bIndex, beliefTerm, tIndex, nal);
+                            nal.exitRule();
                         }
                         break;
                     case TermLink.COMPOUND_CONDITION:
                         if ((belief != null) && (taskTerm instanceof Implication) && (beliefTerm instanceof Implication)) {
                             bIndex = bLink.getIndex(1);
+                            nal.enterRule("SyllogisticRules.conditionalDedInd");
                             SyllogisticRules.conditionalDedInd(belief,(Implication) beliefTerm, bIndex, taskTerm, tIndex, nal);
+                            nal.exitRule();
                         }
                         break;
                 }
@@ -170,11 +195,15 @@ public class RuleTables {
                                     final Sentence newTaskSentence = taskSentence.clone(u[1]);
                                     detachmentWithVar(newBelief, newTaskSentence, bIndex, false, nal);
                                 } else {
+                                    nal.enterRule("SyllogisticRules.conditionalDedInd");
                                     SyllogisticRules.conditionalDedInd(belief, (Implication) beliefTerm, bIndex, taskTerm, -1, nal);
+                                    nal.exitRule();
                                 }
 
                             } else if (beliefTerm instanceof Equivalence) {
+                                nal.enterRule("SyllogisticRules.conditionalAna");
                                 SyllogisticRules.conditionalAna((Equivalence) beliefTerm, bIndex, taskTerm, -1, nal);
+                                nal.exitRule();
                             }
                         }
                         break;
@@ -184,7 +213,9 @@ public class RuleTables {
                 switch (bLink.type) {
                     case TermLink.COMPONENT:
                         if (taskTerm instanceof Statement) {
+                            nal.enterRule("RuleTables.goalFromWantBelief");
                             goalFromWantBelief(task, tIndex, bIndex, taskTerm, nal, beliefTerm);
+                            nal.exitRule();
                             componentAndStatement((CompoundTerm) nal.getCurrentTerm(), bIndex, (Statement) taskTerm, tIndex, nal);
                         }
                         break;
@@ -255,19 +286,19 @@ public class RuleTables {
             if(taskTerm instanceof Implication) {
                 final Implication imp=(Implication)taskTerm;
                 if(imp.getTemporalOrder()!=TemporalRules.ORDER_BACKWARD || imp.getTemporalOrder()==TemporalRules.ORDER_CONCURRENT) {
-                    if(!Parameters.CURIOSITY_FOR_OPERATOR_ONLY || imp.getSubject() instanceof Operation) {
+                    if(!nal.narParameters.CURIOSITY_FOR_OPERATOR_ONLY || imp.getSubject() instanceof Operation) {
                         goalterm=imp.getSubject();
                     }
-                    if(goalterm instanceof Variable && goalterm.hasVarQuery() && (!Parameters.CURIOSITY_FOR_OPERATOR_ONLY || imp.getPredicate() instanceof Operation)) {
+                    if(goalterm instanceof Variable && goalterm.hasVarQuery() && (!nal.narParameters.CURIOSITY_FOR_OPERATOR_ONLY || imp.getPredicate() instanceof Operation)) {
                         goalterm=imp.getPredicate(); //overwrite, it is a how question, in case of <?how =/> b> it is b! which is desired
                     }
                 }
                 else
                     if(imp.getTemporalOrder()==TemporalRules.ORDER_BACKWARD) {
-                        if(!Parameters.CURIOSITY_FOR_OPERATOR_ONLY || imp.getPredicate() instanceof Operation) {
+                        if(!nal.narParameters.CURIOSITY_FOR_OPERATOR_ONLY || imp.getPredicate() instanceof Operation) {
                             goalterm=imp.getPredicate();
                         }
-                        if(goalterm instanceof Variable && goalterm.hasVarQuery() && (!Parameters.CURIOSITY_FOR_OPERATOR_ONLY || imp.getSubject() instanceof Operation)) {
+                        if(goalterm instanceof Variable && goalterm.hasVarQuery() && (!nal.narParameters.CURIOSITY_FOR_OPERATOR_ONLY || imp.getSubject() instanceof Operation)) {
                             goalterm=imp.getSubject(); //overwrite, it is a how question, in case of <?how =/> b> it is b! which is desired
                         }
                     }
@@ -276,15 +307,15 @@ public class RuleTables {
                 if(taskTerm instanceof Equivalence) {
                     final Equivalence qu=(Equivalence)taskTerm;
                     if(qu.getTemporalOrder()==TemporalRules.ORDER_FORWARD || qu.getTemporalOrder()==TemporalRules.ORDER_CONCURRENT) {
-                        if(!Parameters.CURIOSITY_FOR_OPERATOR_ONLY || qu.getSubject() instanceof Operation) {
+                        if(!nal.narParameters.CURIOSITY_FOR_OPERATOR_ONLY || qu.getSubject() instanceof Operation) {
                             goalterm=qu.getSubject();
                         }
-                        if(!Parameters.CURIOSITY_FOR_OPERATOR_ONLY || qu.getPredicate() instanceof Operation) {
+                        if(!nal.narParameters.CURIOSITY_FOR_OPERATOR_ONLY || qu.getPredicate() instanceof Operation) {
                             goalterm2=qu.getPredicate();
                         }
                     }
                 }
-            final TruthValue truth=new TruthValue(1.0f,Parameters.DEFAULT_GOAL_CONFIDENCE*Parameters.CURIOSITY_DESIRE_CONFIDENCE_MUL);
+            final TruthValue truth=new TruthValue(1.0f,Parameters.DEFAULT_GOAL_CONFIDENCE*nal.narParameters.CURIOSITY_DESIRE_CONFIDENCE_MUL);
             if(goalterm!=null && !(goalterm instanceof Variable) && goalterm instanceof CompoundTerm) {
                 goalterm = goalterm.cloneDeep();
                 CompoundTerm.transformIndependentVariableToDependent((CompoundTerm) goalterm);
@@ -295,7 +326,7 @@ public class RuleTables {
                     truth,
                     new Stamp(task.sentence.stamp,nal.memory.time()));
 
-                nal.singlePremiseTask(sent, new BudgetValue(task.getPriority()*Parameters.CURIOSITY_DESIRE_PRIORITY_MUL,task.getDurability()*Parameters.CURIOSITY_DESIRE_DURABILITY_MUL,BudgetFunctions.truthToQuality(truth)));
+                nal.singlePremiseTask(sent, new BudgetValue(task.getPriority()*nal.narParameters.CURIOSITY_DESIRE_PRIORITY_MUL,task.getDurability()*nal.narParameters.CURIOSITY_DESIRE_DURABILITY_MUL,BudgetFunctions.truthToQuality(truth)));
             }
             if(goalterm instanceof CompoundTerm && goalterm2!=null && !(goalterm2 instanceof Variable) && goalterm2 instanceof CompoundTerm) {
                 goalterm2 = goalterm2.cloneDeep();
@@ -307,15 +338,80 @@ public class RuleTables {
                     truth.clone(),
                     new Stamp(task.sentence.stamp,nal.memory.time()));
 
-                nal.singlePremiseTask(sent, new BudgetValue(task.getPriority()*Parameters.CURIOSITY_DESIRE_PRIORITY_MUL,task.getDurability()*Parameters.CURIOSITY_DESIRE_DURABILITY_MUL,BudgetFunctions.truthToQuality(truth)));
+                nal.singlePremiseTask(sent, new BudgetValue(task.getPriority()*nal.narParameters.CURIOSITY_DESIRE_PRIORITY_MUL,task.getDurability()*nal.narParameters.CURIOSITY_DESIRE_DURABILITY_MUL,BudgetFunctions.truthToQuality(truth)));
             }
         }
     }
 
     /* ----- syllogistic inferences ----- */
+    /** a syllogism between the statements of the task and the belief */
+    private interface Syllogism {
+        void apply(TaskLink tLink, TermLink bLink, Sentence taskSentence, Sentence belief, DerivationContext nal);
+    }
+
+    private static final NativeOperator[] INHERITANCE = { NativeOperator.INHERITANCE };
+    private static final NativeOperator[] SIMILARITY = { NativeOperator.SIMILARITY };
+    private static final NativeOperator[] IMPLICATION = { NativeOperator.IMPLICATION,
+        NativeOperator.IMPLICATION_AFTER, NativeOperator.IMPLICATION_WHEN, NativeOperator.IMPLICATION_BEFORE };
+    private static final NativeOperator[] EQUIVALENCE = { NativeOperator.EQUIVALENCE,
+        NativeOperator.EQUIVALENCE_AFTER, NativeOperator.EQUIVALENCE_WHEN };
+
     /**
-     * Meta-table of syllogistic rules, indexed by the content classes of the
-     * taskSentence and the belief
+     * Meta-table of syllogistic rules, indexed by the operators of the task
+     * and the belief, null where no syllogism applies
+     */
+    private static final Syllogism[][] SYLLOGISMS = new Syllogism[NativeOperator.values().length][NativeOperator.values().length];
+
+    private static void syllogism(final NativeOperator[] task, final NativeOperator[] belief, final Syllogism syllogism) {
+        for (final NativeOperator t : task) {
+            for (final NativeOperator b : belief) {
+                SYLLOGISMS[t.ordinal()][b.ordinal()] = syllogism;
+            }
+        }
+    }
+
+    static {
+        syllogism(INHERITANCE, NativeOperator.values(), (tLink, bLink, taskSentence, belief, nal) ->
+            detachmentWithVar(belief, taskSentence, bLink.getIndex(0), nal));
+        syllogism(INHERITANCE, INHERITANCE, (tLink, bLink, taskSentence, belief, nal) ->
+            asymmetricAsymmetric(taskSentence, belief, indexToFigure(tLink, bLink), nal));
+        syllogism(INHERITANCE, SIMILARITY, (tLink, bLink, taskSentence, belief, nal) ->
+            asymmetricSymmetric(taskSentence, belief, indexToFigure(tLink, bLink), nal));
+
+        syllogism(SIMILARITY, INHERITANCE, (tLink, bLink, taskSentence, belief, nal) ->
+            asymmetricSymmetric(belief, taskSentence, indexToFigure(bLink, tLink), nal));
+        syllogism(SIMILARITY, SIMILARITY, (tLink, bLink, taskSentence, belief, nal) ->
+            symmetricSymmetric(belief, taskSentence, indexToFigure(bLink, tLink), nal));
+        //Bridge to higher order statements:
+        syllogism(SIMILARITY, IMPLICATION, (tLink, bLink, taskSentence, belief, nal) ->
+            asymmetricSymmetric(belief, taskSentence, indexToFigure(tLink, bLink), nal));
+        syllogism(SIMILARITY, EQUIVALENCE, (tLink, bLink, taskSentence, belief, nal) ->
+            symmetricSymmetric(belief, taskSentence, indexToFigure(tLink, bLink), nal));
+
+        syllogism(IMPLICATION, IMPLICATION, (tLink, bLink, taskSentence, belief, nal) ->
+            asymmetricAsymmetric(taskSentence, belief, indexToFigure(tLink, bLink), nal));
+        syllogism(IMPLICATION, EQUIVALENCE, (tLink, bLink, taskSentence, belief, nal) ->
+            asymmetricSymmetric(taskSentence, belief, indexToFigure(tLink, bLink), nal));
+        syllogism(IMPLICATION, INHERITANCE, (tLink, bLink, taskSentence, belief, nal) ->
+            detachmentWithVar(taskSentence, belief, tLink.getIndex(0), nal));
+        //Bridge to higher order statements:
+        syllogism(IMPLICATION, SIMILARITY, (tLink, bLink, taskSentence, belief, nal) ->
+            asymmetricSymmetric(taskSentence, belief, indexToFigure(tLink, bLink), nal));
+
+        syllogism(EQUIVALENCE, IMPLICATION, (tLink, bLink, taskSentence, belief, nal) ->
+            asymmetricSymmetric(belief, taskSentence, indexToFigure(bLink, tLink), nal));
+        syllogism(EQUIVALENCE, EQUIVALENCE, (tLink, bLink, taskSentence, belief, nal) ->
+            symmetricSymmetric(belief, taskSentence, indexToFigure(bLink, tLink), nal));
+        syllogism(EQUIVALENCE, INHERITANCE, (tLink, bLink, taskSentence, belief, nal) ->
+            detachmentWithVar(taskSentence, belief, tLink.getIndex(0), nal));
+        //Bridge to higher order statements:
+        syllogism(EQUIVALENCE, SIMILARITY, (tLink, bLink, taskSentence, belief, nal) ->
+            symmetricSymmetric(belief, taskSentence, indexToFigure(tLink, bLink), nal));
+    }
+
+    /**
+     * Syllogistic rules of the task and the belief, looked up in the
+     * meta-table by the operators of their contents
      *
      * @param tLink The link to task
      * @param bLink The link to belief
@@ -324,63 +420,9 @@ public class RuleTables {
      * @param nal Reference to the memory
      */
     private static void syllogisms(final TaskLink tLink, final TermLink bLink, final Term taskTerm, final Term beliefTerm, final DerivationContext nal) {
-        final Sentence taskSentence = nal.getCurrentTask().sentence;
-        final Sentence belief = nal.getCurrentBelief();
-        final int figure;
-        if (taskTerm instanceof Inheritance) {
-            if (beliefTerm instanceof Inheritance) {
-                figure = indexToFigure(tLink, bLink);
-                asymmetricAsymmetric(taskSentence, belief, figure, nal);
-            } else if (beliefTerm instanceof Similarity) {
-                figure = indexToFigure(tLink, bLink);
-                asymmetricSymmetric(taskSentence, belief, figure, nal);
-            } else {
-                detachmentWithVar(belief, taskSentence, bLink.getIndex(0), nal);
-            }
-        } else if (taskTerm instanceof Similarity) {
-            if (beliefTerm instanceof Inheritance) {
-                figure = indexToFigure(bLink, tLink);
-                asymmetricSymmetric(belief, taskSentence, figure, nal);
-            } else if (beliefTerm instanceof Similarity) {
-                figure = indexToFigure(bLink, tLink);
-                symmetricSymmetric(belief, taskSentence, figure, nal);
-            } else if (beliefTerm instanceof Implication) {
-                //Bridge to higher order statements:
-                figure = indexToFigure(tLink, bLink);
-                asymmetricSymmetric(belief, taskSentence, figure, nal);
-            } else if (beliefTerm instanceof Equivalence) {
-                //Bridge to higher order statements:
-                figure = indexToFigure(tLink, bLink);
-                symmetricSymmetric(belief, taskSentence, figure, nal);
-            }
-        } else if (taskTerm instanceof Implication) {
-            if (beliefTerm instanceof Implication) {
-                figure = indexToFigure(tLink, bLink);
-                asymmetricAsymmetric(taskSentence, belief, figure, nal);
-            } else if (beliefTerm instanceof Equivalence) {
-                figure = indexToFigure(tLink, bLink);
-                asymmetricSymmetric(taskSentence, belief, figure, nal);
-            } else if (beliefTerm instanceof Inheritance) {
-                detachmentWithVar(taskSentence, belief, tLink.getIndex(0), nal);
-            } else if (beliefTerm instanceof Similarity) {
-                //Bridge to higher order statements:
-                figure = indexToFigure(tLink, bLink);
-                asymmetricSymmetric(taskSentence, belief, figure, nal);
-            }
-        } else if (taskTerm instanceof Equivalence) {
-            if (beliefTerm instanceof Implication) {
-                figure = indexToFigure(bLink, tLink);
-                asymmetricSymmetric(belief, taskSentence, figure, nal);
-            } else if (beliefTerm instanceof Equivalence) {
-                figure = indexToFigure(bLink, tLink);
-                symmetricSymmetric(belief, taskSentence, figure, nal);
-            } else if (beliefTerm instanceof Inheritance) {
-                detachmentWithVar(taskSentence, belief, tLink.getIndex(0), nal);
-            } else if (beliefTerm instanceof Similarity) {
-                //Bridge to higher order statements:
-                figure = indexToFigure(tLink, bLink);
-                symmetricSymmetric(belief, taskSentence, figure, nal);
-            }
+        final Syllogism syllogism = SYLLOGISMS[taskTerm.operator().ordinal()][beliefTerm.operator().ordinal()];
+        if (syllogism != null) {
+            syllogism.apply(tLink, bLink, nal.getCurrentTask().sentence, nal.getCurrentBelief(), nal);
         }
     }
 
@@ -431,28 +473,47 @@ public class RuleTables {
         switch (figure) {
             case 11: // induction
             {
+                nal.enterRule("SyllogisticRules.abdIndCom");
                 final boolean sensational = SyllogisticRules.abdIndCom(beliefStatement.getPredicate(), taskStatement.getPredicate(), taskSentence, belief, figure, nal);
+                nal.exitRule();
                 if (sensational) {
                     return;
                 }
+                nal.enterRule("CompositionalRules.composeCompound");
                 CompositionalRules.composeCompound(taskStatement, beliefStatement, 0, nal);
+                nal.exitRule();
                 //if(taskSentence.getOccurenceTime()==Stamp.ETERNAL && belief.getOccurenceTime()==Stamp.ETERNAL)
+                nal.enterRule("CompositionalRules.introVarOuter");
                 CompositionalRules.introVarOuter(taskStatement, beliefStatement, 0, nal);//introVarImage(taskContent, beliefContent, index, memory);
+                nal.exitRule();
+                nal.enterRule("CompositionalRules.eliminateVariableOfConditionAbductive");
                 CompositionalRules.eliminateVariableOfConditionAbductive(figure, taskSentence, belief, nal);
+                nal.exitRule();
             }
             break;
             case 22: // abduction
             {
-                if (!SyllogisticRules.conditionalAbd(taskStatement.getSubject(), beliefStatement.getSubject(), taskStatement, beliefStatement, nal)) {         // if conditional abduction, skip the following
+                nal.enterRule("SyllogisticRules.conditionalAbd");
+                final boolean conditionalAbduction = SyllogisticRules.conditionalAbd(taskStatement.getSubject(), beliefStatement.getSubject(), taskStatement, beliefStatement, nal);
+                nal.exitRule();
+                if (!conditionalAbduction) {         // if conditional abduction, skip the following
+                    nal.enterRule("SyllogisticRules.abdIndCom");
                     final boolean sensational = SyllogisticRules.abdIndCom(taskStatement.getSubject(), beliefStatement.getSubject(), taskSentence, belief, figure, nal);
+                    nal.exitRule();
                     if(sensational) {
                         return;
                     }
+                    nal.enterRule("CompositionalRules.composeCompound");
                     CompositionalRules.composeCompound(taskStatement, beliefStatement, 1, nal);
+                    nal.exitRule();
+                    nal.enterRule("CompositionalRules.introVarOuter");
                     CompositionalRules.introVarOuter(taskStatement, beliefStatement, 1, nal);// introVarImage(taskContent, beliefContent, index, memory);
+                    nal.exitRule();
                 }
 
+                nal.enterRule("CompositionalRules.eliminateVariableOfConditionAbductive");
                 CompositionalRules.eliminateVariableOfConditionAbductive(figure,taskSentence,belief,nal);
+                nal.exitRule();
             }
             break;
 
@@ -465,9 +526,13 @@ public class RuleTables {
             t2 = isDeduction ? taskStatement.getPredicate() : beliefStatement.getPredicate();
 
             if (Variables.unify(VAR_QUERY, t1, t2, new Term[]{taskStatement, beliefStatement})) {
+                nal.enterRule("LocalRules.matchReverse");
                 LocalRules.matchReverse(nal);
+                nal.exitRule();
             } else {
+                nal.enterRule("SyllogisticRules.dedExe");
                 SyllogisticRules.dedExe(t1, t2, taskSentence, belief, nal);
+                nal.exitRule();
             }
 
             break;
@@ -503,17 +568,23 @@ public class RuleTables {
         final Term t2 = symSt.retBySide(retOppositeSide(figureRight));
 
         if (Variables.unify(VAR_QUERY, t1, t2, u)) {
+            nal.enterRule("LocalRules.matchAsymSym");
             LocalRules.matchAsymSym(asym, sym, figure, nal);
+            nal.exitRule();
         } else {
             switch (figure) {
                 case 11:
                 case 12:
+                nal.enterRule("SyllogisticRules.analogy");
                 SyllogisticRules.analogy(t2, t1, asym, sym, figure, nal);
+                nal.exitRule();
                 break;
 
                 case 21:
                 case 22:
+                nal.enterRule("SyllogisticRules.analogy");
                 SyllogisticRules.analogy(t1, t2, asym, sym, figure, nal);
+                nal.exitRule();
                 break;
             }
         }
@@ -586,10 +657,14 @@ public class RuleTables {
                 case 22: rt1 = s1.getSubject();     rt2 = s2.getSubject();   break;
             }
             
+            nal.enterRule("SyllogisticRules.resemblance");
             SyllogisticRules.resemblance(rt1, rt2, belief, taskSentence, figure, nal);
+            nal.exitRule();
 
+            nal.enterRule("CompositionalRules.eliminateVariableOfConditionAbductive");
             CompositionalRules.eliminateVariableOfConditionAbductive(
                     figure, taskSentence, belief, nal);
+            nal.exitRule();
             
         }
 
@@ -627,19 +702,29 @@ public class RuleTables {
             final Term[] u = new Term[] { statement, content };
             
             if (!component.hasVarIndep() && !component.hasVarDep()) { //because of example: <<(*,w1,#2) --> [good]> ==> <w1 --> TRANSLATE>>. <(*,w1,w2) --> [good]>.
+                nal.enterRule("SyllogisticRules.detachment");
                 SyllogisticRules.detachment(mainSentence, subSentence, index, checkTermAgain, nal);
+                nal.exitRule();
             } else if (Variables.unify(VAR_INDEPENDENT, component, content, u)) { //happens through syllogisms
                 mainSentence = mainSentence.clone(u[0]);
                 subSentence = subSentence.clone(u[1]);
+                nal.enterRule("SyllogisticRules.detachment");
                 SyllogisticRules.detachment(mainSentence, subSentence, index, false, nal);
+                nal.exitRule();
             } else if ((statement instanceof Implication) && (statement.getPredicate() instanceof Statement) && (nal.getCurrentTask().sentence.isJudgment())) {
                 final Statement s2 = (Statement) statement.getPredicate();
                 if ((content instanceof Statement) && (s2.getSubject().equals(((Statement) content).getSubject()))) {
+                    nal.enterRule("CompositionalRules.introVarInner");
                     CompositionalRules.introVarInner((Statement) content, s2, statement, nal);
+                    nal.exitRule();
                 }
+                nal.enterRule("CompositionalRules.IntroVarSameSubjectOrPredicate");
                 CompositionalRules.IntroVarSameSubjectOrPredicate(originalMainSentence,subSentence,component,content,index,nal);
+                nal.exitRule();
             } else if ((statement instanceof Equivalence) && (statement.getPredicate() instanceof Statement) && (nal.getCurrentTask().sentence.isJudgment())) {
+                nal.enterRule("CompositionalRules.IntroVarSameSubjectOrPredicate");
                 CompositionalRules.IntroVarSameSubjectOrPredicate(originalMainSentence,subSentence,component,content,index,nal);                
+                nal.exitRule();
             }
         }
     }
@@ -683,7 +768,9 @@ public class RuleTables {
             if (Variables.unify(VAR_INDEPENDENT, component, component2, u)) {
                 conditional = (Implication) u[0];
                 statement = (Statement) u[1];
+                nal.enterRule("SyllogisticRules.conditionalDedInd");
                 SyllogisticRules.conditionalDedInd(conditionalSentence, conditional, index, statement, side, nal);
+                nal.exitRule();
             }
         }
     }
@@ -701,16 +788,25 @@ public class RuleTables {
         if ((compound instanceof Conjunction) || (compound instanceof Disjunction)) {
             if (nal.getCurrentBelief() != null) {
                 if(compound.containsTerm(component)) {
+                    nal.enterRule("StructuralRules.structuralCompound");
                     StructuralRules.structuralCompound(compound, component, compoundTask, index, nal);
+                    nal.exitRule();
                 }
+                nal.enterRule("CompositionalRules.decomposeStatement");
                 CompositionalRules.decomposeStatement(compound, component, compoundTask, index, nal);
+                nal.exitRule();
             } else if (compound.containsTerm(component)) {
+                nal.enterRule("StructuralRules.structuralCompound");
                 StructuralRules.structuralCompound(compound, component, compoundTask, index, nal);
+                nal.exitRule();
             }
         } else if (compound instanceof Negation) {
             if (compoundTask) {
-                if (compound.term[0] instanceof CompoundTerm)
+                if (compound.term[0] instanceof CompoundTerm) {
+                    nal.enterRule("StructuralRules.transformNegation");
                     StructuralRules.transformNegation((CompoundTerm)compound.term[0], nal);
+                    nal.exitRule();
+                }
             }
         }
     }
@@ -759,24 +855,34 @@ public class RuleTables {
                     statement = (Statement) u[1];
                     if(conj.isSpatial || compound.getTemporalOrder() != TemporalRules.ORDER_FORWARD || //only allow dep var elimination
                             index == 0) { //for (&/ on first component!!
+                        nal.enterRule("SyllogisticRules.elimiVarDep");
                         SyllogisticRules.elimiVarDep(compound, component, 
                                 statement.equals(beliefTerm),
                                 nal);
+                        nal.exitRule();
                     }
                 } else if (task.sentence.isJudgment()) { // && !compound.containsTerm(component)) {
+                    nal.enterRule("CompositionalRules.introVarInner");
                     CompositionalRules.introVarInner(statement, (Statement) component, compound, nal);
+                    nal.exitRule();
                 }
             }
         } else {
             if (task.sentence.isJudgment()) {
                 if (statement instanceof Inheritance) {
+                    nal.enterRule("StructuralRules.structuralCompose1");
                     StructuralRules.structuralCompose1(compound, index, statement, nal);
+                    nal.exitRule();
                     if (!(compound instanceof SetExt || compound instanceof SetInt || compound instanceof Negation
                             || compound instanceof Conjunction || compound instanceof Disjunction)) {
+                        nal.enterRule("StructuralRules.structuralCompose2");
                         StructuralRules.structuralCompose2(compound, index, statement, side, nal);
+                        nal.exitRule();
                     }    // {A --> B, A @ (A&C)} |- (A&C) --> (B&C)
                 } else if (!(compound instanceof Negation || compound instanceof Conjunction || compound instanceof Disjunction)) {
+                    nal.enterRule("StructuralRules.structuralCompose2");
                     StructuralRules.structuralCompose2(compound, index, statement, side, nal);
+                    nal.exitRule();
                 }       // {A <-> B, A @ (A&C)} |- (A&C) <-> (B&C)
             }
         }
@@ -793,24 +899,38 @@ public class RuleTables {
      */
     private static void componentAndStatement(final CompoundTerm compound, final short index, final Statement statement, final short side, final DerivationContext nal) {
         if (statement instanceof Inheritance) {
+            nal.enterRule("StructuralRules.structuralDecompose1");
             StructuralRules.structuralDecompose1(compound, index, statement, nal);
+            nal.exitRule();
             if (!(compound instanceof SetExt) && !(compound instanceof SetInt)) {
+                nal.enterRule("StructuralRules.structuralDecompose2");
                 StructuralRules.structuralDecompose2(statement, index, nal);    // {(C-B) --> (C-A), A @ (C-A)} |- A --> B
+                nal.exitRule();
             } else {
+                nal.enterRule("StructuralRules.transformSetRelation");
                 StructuralRules.transformSetRelation(compound, statement, side, nal);
+                nal.exitRule();
             }
         } else if (statement instanceof Similarity) {
+            nal.enterRule("StructuralRules.structuralDecompose2");
             StructuralRules.structuralDecompose2(statement, index, nal);        // {(C-B) --> (C-A), A @ (C-A)} |- A --> B
+            nal.exitRule();
             if ((compound instanceof SetExt) || (compound instanceof SetInt)) {
+                nal.enterRule("StructuralRules.transformSetRelation");
                 StructuralRules.transformSetRelation(compound, statement, side, nal);
+                nal.exitRule();
             }            
         } 
         
         else if ((statement instanceof Implication) && (compound instanceof Negation)) {
             if (index == 0) {
+                nal.enterRule("StructuralRules.contraposition");
                 StructuralRules.contraposition(statement, nal.getCurrentTask().sentence, nal);
+                nal.exitRule();
             } else {
+                nal.enterRule("StructuralRules.contraposition");
                 StructuralRules.contraposition(statement, nal.getCurrentBelief(), nal);
+                nal.exitRule();
             }        
         }
         
@@ -852,7 +972,9 @@ public class RuleTables {
 
         // it is not a fatal error if it is not a inheritance, we just ignore it in this case
         if (expectedInheritanceTerm instanceof Inheritance) {
+            nal.enterRule("StructuralRules.transformProductImage");
             StructuralRules.transformProductImage((Inheritance) expectedInheritanceTerm, content, indices, nal);
+            nal.exitRule();
         }
     }
 }
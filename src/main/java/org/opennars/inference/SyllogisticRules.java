@@ -422,7 +422,7 @@ public final class SyllogisticRules {
         if ((order != ORDER_NONE) && (order!=ORDER_INVALID)) {
             final long baseTime = subSentence.getOccurenceTime();
             if (baseTime != Stamp.ETERNAL) {
-                final long inc = order * Parameters.DURATION;
+                final long inc = order * nal.narParameters.DURATION;
                 occurrence_time = (side == 0) ? baseTime+inc : baseTime-inc;
             }
         }
@@ -223,7 +223,7 @@ public class TemporalRules {
             }
         }
 
-        final int durationCycles = Parameters.DURATION;
+        final int durationCycles = nal.narParameters.DURATION;
         final long time1 = s1.getOccurenceTime();
         final long time2 = s2.getOccurenceTime();
         final long timeDiff = time2 - time1;
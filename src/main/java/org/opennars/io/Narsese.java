@@ -128,7 +128,7 @@ public class Narsese implements Serializable {
         final char punc = str.charAt(last);
         
         final Stamp stamp = new Stamp(-1 /* if -1, will be set right before the Task is input */,
-                tense, memory.newStampSerial(), Parameters.DURATION);
+                tense, memory.newStampSerial(), memory.narParameters.DURATION);
 
         final TruthValue truth = parseTruth(truthString, punc);
         final Term content = parseTerm(str.substring(0, last));
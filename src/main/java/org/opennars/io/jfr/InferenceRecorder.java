@@ -0,0 +1,97 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.io.jfr;
+
+import org.opennars.entity.Concept;
+import org.opennars.entity.Task;
+import org.opennars.entity.TaskLink;
+import org.opennars.entity.TermLink;
+import org.opennars.operator.Operation;
+
+/**
+ * Java Flight Recorder events of the inference: cycles, concept fires,
+ * rule applications, task derivations and operator executions, in the
+ * category OpenNARS with the names org.opennars.*.
+ *
+ * Each begin returns the event to pass to its end, or null when the
+ * event is not enabled in a recording or jdk.jfr is missing, so that
+ * without a recording each hot path pays one test.
+ */
+public final class InferenceRecorder {
+
+    /** whether the JVM has a Flight Recorder */
+    public static final boolean AVAILABLE = available();
+
+    private InferenceRecorder() {
+    }
+
+    private static boolean available() {
+        try {
+            return JfrEvents.available();
+        } catch (final LinkageError e) {
+            return false;
+        }
+    }
+
+    public static Object beginCycle() {
+        return AVAILABLE ? JfrEvents.beginCycle() : null;
+    }
+
+    public static void endCycle(final Object event, final long cycle, final int fired, final int concepts) {
+        if (event != null) {
+            JfrEvents.endCycle(event, cycle, fired, concepts);
+        }
+    }
+
+    public static Object beginConceptFire() {
+        return AVAILABLE ? JfrEvents.beginConceptFire() : null;
+    }
+
+    public static void endConceptFire(final Object event, final Concept concept, final int taskLinks) {
+        if (event != null) {
+            JfrEvents.endConceptFire(event, concept, taskLinks);
+        }
+    }
+
+    public static Object beginRule() {
+        return AVAILABLE ? JfrEvents.beginRule() : null;
+    }
+
+    public static void endRule(final Object event, final TaskLink taskLink, final TermLink termLink) {
+        if (event != null) {
+            JfrEvents.endRule(event, taskLink, termLink);
+        }
+    }
+
+    public static Object beginDerivation() {
+        return AVAILABLE ? JfrEvents.beginDerivation() : null;
+    }
+
+    public static void endDerivation(final Object event, final Task task, final boolean derived) {
+        if (event != null) {
+            JfrEvents.endDerivation(event, task, derived);
+        }
+    }
+
+    public static Object beginOperator() {
+        return AVAILABLE ? JfrEvents.beginOperator() : null;
+    }
+
+    public static void endOperator(final Object event, final Operation operation) {
+        if (event != null) {
+            JfrEvents.endOperator(event, operation);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.io.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.opennars.entity.BudgetValue;
+import org.opennars.entity.Concept;
+import org.opennars.entity.Task;
+import org.opennars.entity.TaskLink;
+import org.opennars.entity.TermLink;
+import org.opennars.language.Term;
+import org.opennars.operator.Operation;
+
+/**
+ * The Flight Recorder event types, only loaded by {@link InferenceRecorder}
+ * when jdk.jfr is there.
+ *
+ * An event is only created when its type is enabled in a running recording,
+ * its duration is the time between begin and commit.
+ */
+final class JfrEvents {
+
+    private static final String CATEGORY = "OpenNARS";
+
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static abstract class TermEvent extends Event {
+        @Label("Term")
+        String term;
+        @Label("Complexity")
+        int complexity;
+        @Label("Priority")
+        float priority;
+        @Label("Durability")
+        float durability;
+        @Label("Quality")
+        float quality;
+
+        void set(final Term term, final BudgetValue budget) {
+            this.term = term.toString();
+            this.complexity = term.getComplexity();
+            if (budget != null) {
+                this.priority = budget.getPriority();
+                this.durability = budget.getDurability();
+                this.quality = budget.getQuality();
+            }
+        }
+    }
+
+    @Name("org.opennars.Cycle")
+    @Label("Cycle")
+    @Description("A working cycle of a Memory, from its start to its end")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class CycleEvent extends Event {
+        @Label("Cycle")
+        long cycle;
+        @Label("Concepts Fired")
+        int fired;
+        @Label("Concepts")
+        int concepts;
+    }
+
+    @Name("org.opennars.ConceptFire")
+    @Label("Concept Fire")
+    @Description("Firing of task links of a concept")
+    static final class ConceptFireEvent extends TermEvent {
+        @Label("Task Links")
+        int taskLinks;
+    }
+
+    @Name("org.opennars.Rule")
+    @Label("Rule Application")
+    @Description("Inference between the task of a task link and the belief of a term link, the link types select the rules")
+    static final class RuleEvent extends TermEvent {
+        @Label("Belief Term")
+        String beliefTerm;
+        @Label("Task Link Type")
+        short taskLinkType;
+        @Label("Term Link Type")
+        short termLinkType;
+    }
+
+    @Name("org.opennars.Derivation")
+    @Label("Task Derivation")
+    @Description("A derived task, and whether it was kept")
+    static final class DerivationEvent extends TermEvent {
+        @Label("Derived")
+        boolean derived;
+    }
+
+    @Name("org.opennars.Operator")
+    @Label("Operator Execution")
+    @Description("Execution of an operation by its operator")
+    static final class OperatorEvent extends TermEvent {
+        @Label("Operator")
+        String operator;
+    }
+
+    private static final EventType CYCLE = EventType.getEventType(CycleEvent.class);
+    private static final EventType CONCEPT_FIRE = EventType.getEventType(ConceptFireEvent.class);
+    private static final EventType RULE = EventType.getEventType(RuleEvent.class);
+    private static final EventType DERIVATION = EventType.getEventType(DerivationEvent.class);
+    private static final EventType OPERATOR = EventType.getEventType(OperatorEvent.class);
+
+    private JfrEvents() {
+    }
+
+    static boolean available() {
+        return FlightRecorder.isAvailable();
+    }
+
+    private static <E extends Event> E begin(final E event) {
+        event.begin();
+        return event;
+    }
+
+    static Object beginCycle() {
+        return CYCLE.isEnabled() ? begin(new CycleEvent()) : null;
+    }
+
+    static void endCycle(final Object event, final long cycle, final int fired, final int concepts) {
+        final CycleEvent e = (CycleEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.cycle = cycle;
+            e.fired = fired;
+            e.concepts = concepts;
+            e.commit();
+        }
+    }
+
+    static Object beginConceptFire() {
+        return CONCEPT_FIRE.isEnabled() ? begin(new ConceptFireEvent()) : null;
+    }
+
+    static void endConceptFire(final Object event, final Concept concept, final int taskLinks) {
+        final ConceptFireEvent e = (ConceptFireEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.set(concept.term, concept.budget);
+            e.taskLinks = taskLinks;
+            e.commit();
+        }
+    }
+
+    static Object beginRule() {
+        return RULE.isEnabled() ? begin(new RuleEvent()) : null;
+    }
+
+    static void endRule(final Object event, final TaskLink taskLink, final TermLink termLink) {
+        final RuleEvent e = (RuleEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.set(taskLink.getTarget().getTerm(), taskLink.budget);
+            e.beliefTerm = termLink.target.toString();
+            e.taskLinkType = taskLink.type;
+            e.termLinkType = termLink.type;
+            e.commit();
+        }
+    }
+
+    static Object beginDerivation() {
+        return DERIVATION.isEnabled() ? begin(new DerivationEvent()) : null;
+    }
+
+    static void endDerivation(final Object event, final Task task, final boolean derived) {
+        final DerivationEvent e = (DerivationEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.set(task.getTerm(), task.budget);
+            e.derived = derived;
+            e.commit();
+        }
+    }
+
+    static Object beginOperator() {
+        return OPERATOR.isEnabled() ? begin(new OperatorEvent()) : null;
+    }
+
+    static void endOperator(final Object event, final Operation operation) {
+        final OperatorEvent e = (OperatorEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            final Task task = operation.getTask();
+            e.set(operation, task == null ? null : task.budget);
+            e.operator = operation.getOperator().name().toString();
+            e.commit();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.io.metrics;
+
+import org.opennars.io.events.Events;
+import org.opennars.storage.Memory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and histograms of the cycles of a Memory: time of each phase,
+ * tasks processed, derivations, concepts created and forgotten, events
+ * emitted, and the occupancy of the bags read when asked.
+ *
+ * Recording is done by the Memory only while enabled, so that disabled
+ * metrics cost a flag test per cycle and per event.
+ */
+public class Metrics implements MetricsMXBean, Serializable {
+
+    private final Memory memory;
+    private volatile boolean enabled;
+
+    public final Histogram cycleTime = new Histogram();
+    public final Histogram inputTime = new Histogram();
+    public final Histogram newTasksTime = new Histogram();
+    public final Histogram novelTasksTime = new Histogram();
+    public final Histogram conceptsTime = new Histogram();
+    public final Histogram derivationsPerCycle = new Histogram();
+
+    private final LongAdder cycles = new LongAdder();
+    private final LongAdder tasksProcessed = new LongAdder();
+    private final LongAdder derivations = new LongAdder();
+    /** derivations of the current cycle */
+    private final LongAdder cycleDerivations = new LongAdder();
+    private final Map<Class,LongAdder> events = new ConcurrentHashMap<>();
+
+    public Metrics(final Memory memory) {
+        this.memory = memory;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /* ---------- recording, called by the Memory while enabled ---------- */
+
+    public void cycle(final long input, final long newTasks, final long novelTasks, final long concepts) {
+        cycles.increment();
+        inputTime.record(input);
+        newTasksTime.record(newTasks);
+        novelTasksTime.record(novelTasks);
+        conceptsTime.record(concepts);
+        cycleTime.record(input + newTasks + novelTasks + concepts);
+        derivationsPerCycle.record(cycleDerivations.sumThenReset());
+    }
+
+    public void tasksProcessed(final int n) {
+        tasksProcessed.add(n);
+    }
+
+    public void event(final Class c) {
+        events.computeIfAbsent(c, k -> new LongAdder()).increment();
+        if (c == Events.TaskDerive.class) {
+            derivations.increment();
+            cycleDerivations.increment();
+        }
+    }
+
+    /* ---------- reading ---------- */
+
+    @Override
+    public void reset() {
+        cycleTime.reset();
+        inputTime.reset();
+        newTasksTime.reset();
+        novelTasksTime.reset();
+        conceptsTime.reset();
+        derivationsPerCycle.reset();
+        cycles.reset();
+        tasksProcessed.reset();
+        derivations.reset();
+        cycleDerivations.reset();
+        events.clear();
+    }
+
+    @Override
+    public long getCycles() {
+        return cycles.sum();
+    }
+
+    @Override
+    public long getTasksProcessed() {
+        return tasksProcessed.sum();
+    }
+
+    @Override
+    public long getDerivations() {
+        return derivations.sum();
+    }
+
+    public long getEventCount(final Class c) {
+        final LongAdder n = events.get(c);
+        return n == null ? 0 : n.sum();
+    }
+
+    @Override
+    public long getConceptsCreated() {
+        return getEventCount(Events.ConceptNew.class);
+    }
+
+    @Override
+    public long getConceptsForgotten() {
+        return getEventCount(Events.ConceptForget.class);
+    }
+
+    @Override
+    public double getCycleTimeMean() {
+        return cycleTime.getMean();
+    }
+
+    @Override
+    public long getCycleTimeP99() {
+        return cycleTime.getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getCycleTimeMax() {
+        return cycleTime.getMax();
+    }
+
+    private Map<String,Histogram> phases() {
+        final Map<String,Histogram> phases = new LinkedHashMap<>();
+        phases.put("input", inputTime);
+        phases.put("newTasks", newTasksTime);
+        phases.put("novelTasks", novelTasksTime);
+        phases.put("concepts", conceptsTime);
+        return phases;
+    }
+
+    @Override
+    public Map<String,Double> getPhaseTimeMean() {
+        final Map<String,Double> means = new LinkedHashMap<>();
+        phases().forEach((phase, h) -> means.put(phase, h.getMean()));
+        return means;
+    }
+
+    @Override
+    public Map<String,Long> getPhaseTimeP99() {
+        final Map<String,Long> p99 = new LinkedHashMap<>();
+        phases().forEach((phase, h) -> p99.put(phase, h.getValueAtPercentile(99)));
+        return p99;
+    }
+
+    @Override
+    public double getDerivationsPerCycleMean() {
+        return derivationsPerCycle.getMean();
+    }
+
+    @Override
+    public long getDerivationsPerCycleMax() {
+        return derivationsPerCycle.getMax();
+    }
+
+    @Override
+    public Map<String,Integer> getOccupancy() {
+        final Map<String,Integer> occupancy = new LinkedHashMap<>();
+        occupancy.put("concepts", memory.concepts.size());
+        occupancy.put("novelTasks", memory.novelTasks.size());
+        occupancy.put("newTasks", memory.newTasks.size());
+        occupancy.put("inputQueue", memory.getInputQueueSize());
+        occupancy.put("sequences", memory.seq_current.size());
+        occupancy.put("operations", memory.recent_operations.size());
+        return occupancy;
+    }
+
+    @Override
+    public Map<String,Long> getEventCounts() {
+        final Map<String,Long> counts = new TreeMap<>();
+        events.forEach((c, n) -> counts.put(c.getSimpleName(), n.sum()));
+        return counts;
+    }
+
+    /**
+     * Register as the MBean org.opennars:type=Metrics,name=name of the platform MBean server
+     *
+     * @return the name it was registered under
+     */
+    public ObjectName register(final String name) {
+        try {
+            final ObjectName objectName = objectName(name);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (final JMException e) {
+            throw new IllegalStateException("Could not register metrics " + name, e);
+        }
+    }
+
+    public static void unregister(final String name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName(name));
+        } catch (final JMException e) {
+            throw new IllegalStateException("Could not unregister metrics " + name, e);
+        }
+    }
+
+    private static ObjectName objectName(final String name) throws JMException {
+        return new ObjectName("org.opennars:type=Metrics,name=" + ObjectName.quote(name));
+    }
+}
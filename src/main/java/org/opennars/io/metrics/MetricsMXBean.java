@@ -0,0 +1,50 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.io.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the {@link Metrics} of a Nar, times are in nanoseconds
+ */
+public interface MetricsMXBean {
+
+    boolean isEnabled();
+    void setEnabled(boolean enabled);
+    void reset();
+
+    long getCycles();
+    long getTasksProcessed();
+    long getDerivations();
+    long getConceptsCreated();
+    long getConceptsForgotten();
+
+    double getCycleTimeMean();
+    long getCycleTimeP99();
+    long getCycleTimeMax();
+
+    /** mean time of each phase of the cycle */
+    Map<String,Double> getPhaseTimeMean();
+    /** 99th percentile of the time of each phase of the cycle */
+    Map<String,Long> getPhaseTimeP99();
+
+    double getDerivationsPerCycleMean();
+    long getDerivationsPerCycleMax();
+
+    /** number of items in each bag and buffer of the memory */
+    Map<String,Integer> getOccupancy();
+    /** number of events emitted by the memory, by event class */
+    Map<String,Long> getEventCounts();
+}
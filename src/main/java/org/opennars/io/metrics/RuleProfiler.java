@@ -0,0 +1,190 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.io.metrics;
+
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Time, invocations and derivations of each inference rule.
+ *
+ * The application of a rule is framed by enter and exit, frames nest when a
+ * rule applies other rules, so that each rule gets its total time and its
+ * self time without the rules it applied. Tasks derived or rejected are
+ * counted for the innermost rule, or for {@link #OTHER} outside of any rule.
+ *
+ * Frames are only created while enabled, so that a disabled profiler costs
+ * a flag test per rule. Switching it off while a rule is applied may end the
+ * frame of the rule which applied it early.
+ */
+public class RuleProfiler implements Serializable {
+
+    /** rule of the derivations made outside of a profiled rule */
+    public static final String OTHER = "other";
+
+    private volatile boolean enabled;
+    private final Map<String,RuleStats> rules = new ConcurrentHashMap<>();
+
+    /** the application of a rule, linked to the frame of the rule which applied it */
+    public static final class Frame {
+        public final String rule;
+        public final Frame parent;
+        private final long start;
+        private long children;
+
+        private Frame(final String rule, final Frame parent) {
+            this.rule = rule;
+            this.parent = parent;
+            this.start = System.nanoTime();
+        }
+    }
+
+    public static class RuleStats implements Serializable {
+        public final String rule;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder selfNanos = new LongAdder();
+        private final LongAdder derived = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final Map<String,LongAdder> rejections = new ConcurrentHashMap<>();
+
+        RuleStats(final String rule) {
+            this.rule = rule;
+        }
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        /** time of the applications of the rule, including the rules it applied, in nanoseconds */
+        public long getNanos() {
+            return nanos.sum();
+        }
+
+        /** time of the applications of the rule without the rules it applied, in nanoseconds */
+        public long getSelfNanos() {
+            return selfNanos.sum();
+        }
+
+        public long getDerived() {
+            return derived.sum();
+        }
+
+        public long getRejected() {
+            return rejected.sum();
+        }
+
+        /** number of rejected tasks by reason */
+        public Map<String,Long> getRejections() {
+            final Map<String,Long> counts = new TreeMap<>();
+            rejections.forEach((reason, n) -> counts.put(reason, n.sum()));
+            return counts;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    private RuleStats stats(final String rule) {
+        return rules.computeIfAbsent(rule, RuleStats::new);
+    }
+
+    /**
+     * Begin the application of a rule
+     *
+     * @param current frame of the rule being applied, or null
+     * @return the frame of the rule, or current while disabled
+     */
+    public Frame enter(final Frame current, final String rule) {
+        return enabled ? new Frame(rule, current) : current;
+    }
+
+    /**
+     * End the application of the rule of a frame
+     *
+     * @param frame frame returned by enter, or null
+     * @return the frame of the rule which applied it
+     */
+    public Frame exit(final Frame frame) {
+        if (frame == null) {
+            return null;
+        }
+        final long elapsed = System.nanoTime() - frame.start;
+        if (frame.parent != null) {
+            frame.parent.children += elapsed;
+        }
+        final RuleStats stats = stats(frame.rule);
+        stats.calls.increment();
+        stats.nanos.add(elapsed);
+        stats.selfNanos.add(elapsed - frame.children);
+        return frame.parent;
+    }
+
+    /** Count a task derived under the given frame */
+    public void derived(final Frame current) {
+        if (enabled) {
+            stats(current == null ? OTHER : current.rule).derived.increment();
+        }
+    }
+
+    /** Count a task rejected under the given frame */
+    public void rejected(final Frame current, final String reason) {
+        if (enabled) {
+            final RuleStats stats = stats(current == null ? OTHER : current.rule);
+            stats.rejected.increment();
+            stats.rejections.computeIfAbsent(reason, k -> new LongAdder()).increment();
+        }
+    }
+
+    public RuleStats getRule(final String rule) {
+        return rules.get(rule);
+    }
+
+    /** the rules, by decreasing self time */
+    public List<RuleStats> getRules() {
+        final List<RuleStats> sorted = new ArrayList<>(rules.values());
+        sorted.sort(Comparator.comparingLong(RuleStats::getSelfNanos).reversed());
+        return sorted;
+    }
+
+    public void reset() {
+        rules.clear();
+    }
+
+    /** Print a table of the rules by decreasing self time, followed by the reasons of the rejections */
+    public void report(final PrintStream out) {
+        out.println(String.format("%-60s %10s %12s %12s %10s %10s", "rule", "calls", "total ms", "self ms", "derived", "rejected"));
+        final List<RuleStats> sorted = getRules();
+        for (final RuleStats r : sorted) {
+            out.println(String.format("%-60s %10d %12.3f %12.3f %10d %10d", r.rule, r.getCalls(),
+                r.getNanos() / 1e6, r.getSelfNanos() / 1e6, r.getDerived(), r.getRejected()));
+        }
+        for (final RuleStats r : sorted) {
+            r.getRejections().forEach((reason, n) -> out.println(String.format("%-60s %10d  %s", r.rule, n, reason)));
+        }
+    }
+}
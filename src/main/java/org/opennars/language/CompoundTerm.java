@@ -49,7 +49,12 @@ public abstract class CompoundTerm extends Term implements Iterable<Term> {
     private boolean hasVariables, hasVarQueries, hasVarIndeps, hasVarDeps, hasIntervals;
     
     int containedTemporalRelations = -1;
+    /** structural hash, 0 while not computed */
     int hash;
+    /** bits of all the terms contained at any depth, 0 while not computed */
+    private long subterms;
+    /** this term with its intervals replaced, the key of its concept, null while not computed */
+    private volatile Term intervalsReplaced;
     private boolean normalized;
     
 
@@ -160,6 +165,9 @@ public abstract class CompoundTerm extends Term implements Iterable<Term> {
     
     public void invalidateName() {        
         this.name = null; //invalidate name so it will be (re-)created lazily        
+        this.hash = 0; //and the hash, which follows the name
+        this.subterms = 0;
+        this.intervalsReplaced = null;
         for (final Term t : term) {
             if (t.hasVar())
                 if (t instanceof CompoundTerm)
@@ -217,15 +225,28 @@ public abstract class CompoundTerm extends Term implements Iterable<Term> {
         }
     }
 
-    public static Term replaceIntervals(Term T) {
-        if(T instanceof CompoundTerm) {
-            T=T.cloneDeep(); //we will operate on a copy
-            if(T == null) {
+    /**
+     * The term with all its intervals replaced by +1, the key of its concept.
+     * It is computed once and kept by the term, and a term without interval
+     * and variable is its own key, so the result must not be changed.
+     * Terms with variables get a copy, as their variables are scoped to them.
+     */
+    public static Term replaceIntervals(final Term T) {
+        if(!(T instanceof CompoundTerm) || (!T.hasInterval() && !T.hasVar())) {
+            return T;
+        }
+        final CompoundTerm comp = (CompoundTerm) T;
+        Term replaced = comp.intervalsReplaced;
+        if(replaced == null) {
+            replaced = comp.cloneDeep(); //we will operate on a copy
+            if(replaced == null) {
                 return null; //not a valid concept term
             }
-            ReplaceIntervals((CompoundTerm) T);
+            ReplaceIntervals((CompoundTerm) replaced);
+            ((CompoundTerm) replaced).intervalsReplaced = replaced;
+            comp.intervalsReplaced = replaced;
         }
-        return T;
+        return replaced;
     }
     
     private static void ExtractIntervals(final Memory mem, final List<Long> ivals, final CompoundTerm comp) {
@@ -526,11 +547,17 @@ public abstract class CompoundTerm extends Term implements Iterable<Term> {
     
     static void shuffle(final Term[] ar,final Random randomNumber)
     {
-        if (ar.length < 2)  {
+        shuffle(ar, ar.length, randomNumber);
+    }
+
+    /** shuffle the first n elements of an array */
+    static void shuffle(final Term[] ar, final int n, final Random randomNumber)
+    {
+        if (n < 2)  {
             return;
         }
 
-      for (int i = ar.length - 1; i > 0; i--)
+      for (int i = n - 1; i > 0; i--)
       {
         final int index = randomNumber.nextInt(i + 1);
         // Simple swap
@@ -552,7 +579,7 @@ public abstract class CompoundTerm extends Term implements Iterable<Term> {
      */
     @Override
     public boolean containsTerm(final Term t) {        
-        return Terms.contains(term, t);
+        return (subterms() & signature(t)) != 0 && Terms.contains(term, t);
         //return Terms.containsVariablesAsWildcard(term, t);
     }
 
@@ -566,6 +593,8 @@ public abstract class CompoundTerm extends Term implements Iterable<Term> {
     public boolean containsTermRecursively(final Term target) { 
         if (super.containsTermRecursively(target))
             return true;
+        if (target == null || (subterms() & signature(target)) == 0)
+            return false;
         for (final Term term : term) {            
             if (term.containsTermRecursively(target)) {
                 return true;
@@ -583,12 +612,42 @@ public abstract class CompoundTerm extends Term implements Iterable<Term> {
      */
     public boolean containsAllTermsOf(final Term t) {
         if (getClass() == t.getClass()) { //(t instanceof CompoundTerm) {
-            return Terms.containsAll(term, ((CompoundTerm) t).term );
+            final CompoundTerm c = (CompoundTerm) t;
+            for (final Term x : term) {
+                if ((c.subterms() & signature(x)) == 0)
+                    return false;
+            }
+            return Terms.containsAll(term, c.term);
         } else {
-            return Terms.contains(term, t);
+            return containsTerm(t);
         }
     }
 
+    /**
+     * Bloom filter of the terms contained at any depth: the union of the
+     * signatures of the components and of their own subterms. A term whose
+     * signature is not in it is not contained.
+     */
+    public long subterms() {
+        long s = subterms;
+        if (s == 0) {
+            for (final Term t : term) {
+                s |= signature(t);
+                if (t instanceof CompoundTerm) {
+                    s |= ((CompoundTerm) t).subterms();
+                }
+            }
+            subterms = s;
+        }
+        return s;
+    }
+
+    /** one bit for a term, the same for terms of equal names */
+    public static long signature(final Term t) {
+        final int h = t instanceof CompoundTerm ? t.hashCode() : t.name().hashCode();
+        return 1L << (h ^ (h >>> 6) ^ (h >>> 12));
+    }
+
     /**
      * Try to replace a component in a compound at a given index by another one
      *
@@ -727,14 +786,26 @@ public abstract class CompoundTerm extends Term implements Iterable<Term> {
 
 
 
+    /**
+     * Hash of the operator and the components, computed without making the
+     * name. Everything it uses is shown in the name, so that terms of equal
+     * names have equal hashes, and it is reset with the name.
+     */
     @Override
     public int hashCode() {
-        if (!Parameters.TERM_ELEMENT_EQUIVALENCY) {
-            return name().hashCode();
+        if (hash == 0) {
+            hash = makeHash();
         }
-        else {
-            return hash;
+        return hash;
+    }
+
+    protected int makeHash() {
+        int h = operator().ordinal();
+        for (final Term t : term) {
+            //variables hash with their scope, which can be this term
+            h = 31 * h + (t instanceof CompoundTerm ? t.hashCode() : t.name().hashCode());
         }
+        return h;
     }
 
     @Override
@@ -775,6 +846,8 @@ public abstract class CompoundTerm extends Term implements Iterable<Term> {
             return false;
         if (Parameters.TERM_ELEMENT_EQUIVALENCY)
             return equalsByTerm(that);
+        if (that instanceof CompoundTerm && hashCode() != that.hashCode())
+            return false; //differ without making the names
         return name().equals(((Term)that).name());
     }
     
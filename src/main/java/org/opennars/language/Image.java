@@ -16,9 +16,6 @@ package org.opennars.language;
 
 import org.opennars.io.Symbols;
 import org.opennars.io.Symbols.NativeOperator;
-import org.opennars.main.Parameters;
-
-import java.util.Objects;
 
 import static org.opennars.io.Symbols.NativeOperator.COMPOUND_TERM_CLOSER;
 import static org.opennars.io.Symbols.NativeOperator.COMPOUND_TERM_OPENER;
@@ -39,18 +36,10 @@ abstract public class Image extends CompoundTerm {
         init(components);
     }
 
+    /** the place of the relation is shown in the name by the placeholder */
     @Override
-    protected void init(final Term[] components) {
-        super.init(components);
-        this.hash = Objects.hash(super.hashCode(), relationIndex); 
-    }
-    
-    @Override
-    public int hashCode() {
-        if (Parameters.TERM_ELEMENT_EQUIVALENCY)
-            return hash;        
-        else
-            return super.hashCode();
+    protected int makeHash() {
+        return 31 * super.makeHash() + relationIndex;
     }
 
     @Override
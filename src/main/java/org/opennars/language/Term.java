@@ -27,6 +27,7 @@ import org.opennars.storage.Memory;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 //import org.opennars.util.sort.SortedList;
 
 /**
@@ -38,7 +39,8 @@ import java.util.*;
  */
 public class Term implements AbstractTerm, Serializable {
     public ImaginationSpace imagination;
-    private static final Map<CharSequence,Term> atoms = new HashMap();
+    /** interned atomic terms, shared by all Nars of the JVM since atoms are not changed once made */
+    private static final Map<CharSequence,Term> atoms = new ConcurrentHashMap<>();
 
     final public static Term SELF = SetExt.make(Term.get("SELF"));
     final public static Term SEQ_SPATIAL = Term.get("#");
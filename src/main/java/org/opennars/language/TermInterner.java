@@ -0,0 +1,121 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.language;
+
+import org.opennars.main.Parameters;
+import org.opennars.operator.Operation;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hash-consing of compound terms: equal ground terms given to intern share
+ * one canonical instance, and so do their compound components, for as long
+ * as the instance is referenced somewhere else. The table is weak and shared
+ * by all Nars of the JVM, like the atoms of {@link Term#get}.
+ *
+ * Only terms which are not changed once built are shared: terms with
+ * variables are not, since their variables point to their scope, and neither
+ * are terms containing an operation, which holds the task executing it, an
+ * imagination space or term indices, which are not part of the name.
+ */
+public final class TermInterner {
+
+    private static final Map<CharSequence,Ref> table = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<CompoundTerm> collected = new ReferenceQueue<>();
+
+    private static final class Ref extends WeakReference<CompoundTerm> {
+        final CharSequence name;
+
+        Ref(final CompoundTerm term, final CharSequence name) {
+            super(term, collected);
+            this.name = name;
+        }
+    }
+
+    private TermInterner() {
+    }
+
+    /**
+     * The canonical instance of a term
+     *
+     * @return the instance equal to t which was interned first and is still referenced,
+     * t itself if it is the first or can not be shared
+     */
+    public static Term intern(final Term t) {
+        if (!Parameters.TERM_INTERNING || !(t instanceof CompoundTerm) || t.hasVar()) {
+            return t;
+        }
+        final CompoundTerm canonical = canonical((CompoundTerm) t);
+        return canonical != null ? canonical : t;
+    }
+
+    /** @return the canonical instance of c, null if it can not be shared */
+    private static CompoundTerm canonical(final CompoundTerm c) {
+        if (c instanceof Operation || !shareable(c)) {
+            return null;
+        }
+        final Term[] components = c.term;
+        for (int i = 0; i < components.length; i++) {
+            final Term component = components[i];
+            if (component instanceof CompoundTerm) {
+                final CompoundTerm k = canonical((CompoundTerm) component);
+                if (k == null) {
+                    return null;
+                }
+                components[i] = k; //equal, so c is unchanged
+            } else if (!shareable(component)) {
+                return null;
+            }
+        }
+
+        expunge();
+        final CharSequence name = c.name();
+        for (;;) {
+            final Ref ref = table.get(name);
+            if (ref != null) {
+                final CompoundTerm k = ref.get();
+                if (k != null) {
+                    return k;
+                }
+            }
+            final Ref fresh = new Ref(c, name);
+            if (ref == null ? table.putIfAbsent(name, fresh) == null : table.replace(name, ref, fresh)) {
+                return c;
+            }
+        }
+    }
+
+    /** whether the term has no state left out of its name */
+    private static boolean shareable(final Term t) {
+        return t.imagination == null && t.term_indices == null;
+    }
+
+    /** remove the entries of the collected terms */
+    private static void expunge() {
+        Ref ref;
+        while ((ref = (Ref) collected.poll()) != null) {
+            table.remove(ref.name, ref);
+        }
+    }
+
+    /** number of entries, some of which may be collected already */
+    public static int size() {
+        expunge();
+        return table.size();
+    }
+}
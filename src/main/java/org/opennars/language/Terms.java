@@ -461,18 +461,22 @@ public class Terms {
         return true;
     }
     
-    /** a contains any of b  NOT TESTED YET */
+    /** a contains any of b, at any depth */
     public static boolean containsAny(final Term[] a, final Collection<Term> b) {
-        for (final Term bx : b) {
-            if (contains(a, bx))
-                return true;
-        }
+        long subterms = 0;
         for (final Term ax : a) {
+            subterms |= CompoundTerm.signature(ax);
             if (ax instanceof CompoundTerm)
-                if (containsAny(((CompoundTerm)ax).term, b))
+                subterms |= ((CompoundTerm) ax).subterms();
+        }
+        for (final Term bx : b) {
+            if ((subterms & CompoundTerm.signature(bx)) == 0)
+                continue;
+            for (final Term ax : a) {
+                if (ax.containsTermRecursively(bx))
                     return true;
+            }
         }
-        
         return false;
     }
 
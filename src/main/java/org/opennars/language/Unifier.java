@@ -0,0 +1,397 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.language;
+
+import org.opennars.inference.TemporalRules;
+import org.opennars.io.Symbols;
+import org.opennars.storage.Memory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Finds the substitutions unifying two terms, see {@link Variables#findSubstitute}.
+ * <p>
+ * The substitutions of each of the two terms are pushed on a stack, where a
+ * later substitution of a variable hides an earlier one, so that a failed
+ * attempt is undone by cutting the stacks back to their size before it, and
+ * maps are only made when the substitutions are asked for. The stacks and
+ * the working arrays are kept by one instance per thread.
+ */
+final class Unifier {
+
+    private static final ThreadLocal<Unifier> unifiers = ThreadLocal.withInitial(Unifier::new);
+
+    private final Term[][] keys = { new Term[8], new Term[8] };
+    private final Term[][] values = { new Term[8], new Term[8] };
+    private final int[] size = new int[2];
+
+    /** substitutions of the successful elements of a partial match, with the term they are for */
+    private Term[] partialKeys = new Term[8], partialValues = new Term[8];
+    private byte[] partialSides = new byte[8];
+    private int partialSize;
+
+    /** components of the commutative compounds being matched, and which were matched, by depth */
+    private Term[][] lists = new Term[4][];
+    private boolean[][] matched = new boolean[4][];
+    private int depth;
+
+    /** variables whose substitution is being matched, with the term they are of, to stop at a cyclic one */
+    private Term[] following = new Term[4];
+    private byte[] followingSides = new byte[4];
+    private int followingSize;
+
+    private boolean busy;
+
+    /** the instance of the thread, or a new one if it is in use */
+    static Unifier get() {
+        final Unifier u = unifiers.get();
+        if (u.busy) {
+            return new Unifier();
+        }
+        u.busy = true;
+        return u;
+    }
+
+    /** forget the substitutions and give the instance back */
+    void release() {
+        for (int side = 0; side < 2; side++) {
+            Arrays.fill(keys[side], 0, size[side], null);
+            Arrays.fill(values[side], 0, size[side], null);
+            size[side] = 0;
+        }
+        clearPartial();
+        busy = false;
+    }
+
+    /** the substitution of a variable of a term, null if there is none */
+    Term get(final int side, final Term key) {
+        final Term[] k = keys[side];
+        final int h = key.hashCode();
+        for (int i = size[side] - 1; i >= 0; i--) {
+            if (k[i] == key || (k[i].hashCode() == h && key.equals(k[i]))) {
+                return values[side][i];
+            }
+        }
+        return null;
+    }
+
+    void put(final int side, final Term key, final Term value) {
+        final int n = size[side];
+        if (n == keys[side].length) {
+            keys[side] = Arrays.copyOf(keys[side], n * 2);
+            values[side] = Arrays.copyOf(values[side], n * 2);
+        }
+        keys[side][n] = key;
+        values[side][n] = value;
+        size[side] = n + 1;
+    }
+
+    void putAll(final int side, final Map<Term, Term> map) {
+        if (map != null) {
+            map.forEach((k, v) -> put(side, k, v));
+        }
+    }
+
+    boolean isEmpty(final int side) {
+        return size[side] == 0;
+    }
+
+    /**
+     * Put the substitutions of a term in a map
+     *
+     * @param map the map, or null to make one
+     * @return the map
+     */
+    Map<Term, Term> toMap(final int side, Map<Term, Term> map) {
+        if (map == null) {
+            map = new HashMap<>();
+        }
+        for (int i = 0; i < size[side]; i++) {
+            map.put(keys[side][i], values[side][i]);
+        }
+        return map;
+    }
+
+    private void undo(final int size0, final int size1) {
+        Arrays.fill(keys[0], size0, size[0], null);
+        Arrays.fill(values[0], size0, size[0], null);
+        Arrays.fill(keys[1], size1, size[1], null);
+        Arrays.fill(values[1], size1, size[1], null);
+        size[0] = size0;
+        size[1] = size1;
+    }
+
+    /** remember the substitutions in effect for every variable of the stacks */
+    private void saveForPartial() {
+        for (int side = 0; side < 2; side++) {
+            for (int i = 0; i < size[side]; i++) {
+                if (partialSize == partialKeys.length) {
+                    partialKeys = Arrays.copyOf(partialKeys, partialSize * 2);
+                    partialValues = Arrays.copyOf(partialValues, partialSize * 2);
+                    partialSides = Arrays.copyOf(partialSides, partialSize * 2);
+                }
+                partialKeys[partialSize] = keys[side][i];
+                partialValues[partialSize] = get(side, keys[side][i]);
+                partialSides[partialSize] = (byte) side;
+                partialSize++;
+            }
+        }
+    }
+
+    private void clearPartial() {
+        Arrays.fill(partialKeys, 0, partialSize, null);
+        Arrays.fill(partialValues, 0, partialSize, null);
+        partialSize = 0;
+    }
+
+    /**
+     * Whether two terms can be unified, the substitutions found are pushed
+     * and remain when they are not, as those found before a failure in the
+     * maps of {@link Variables#findSubstitute}
+     */
+    boolean find(final char type, final Term term1, final Term term2, final boolean allowPartial) {
+
+        boolean term1HasVar = term1.hasVar(type);
+        if(type == Symbols.VAR_INDEPENDENT) {
+            term1HasVar |= term1.hasVarDep();
+            term1HasVar |= term1.hasVarQuery();
+        }
+        if(type == Symbols.VAR_DEPENDENT) {
+            term1HasVar |= term1.hasVarQuery();
+        }
+        final boolean term2HasVar = term2.hasVar(type);
+
+        final boolean term1Var = term1 instanceof Variable;
+        final boolean term2Var = term2 instanceof Variable;
+
+        if(allowPartial && term1 instanceof Conjunction && term2 instanceof Conjunction && findPartial(type, (Conjunction) term1, (Conjunction) term2)) {
+            return true;
+        }
+
+        final boolean termsEqual = term1.equals(term2);
+        if (!term1Var && !term2Var && termsEqual)  {
+            return true;
+        }
+
+        //variable "renaming" to variable of same type is always valid
+        if(term1Var && term2Var) {
+            final Variable v1 = (Variable) term1;
+            final Variable v2 = (Variable) term2;
+            if(v1.getType() == v2.getType()) {
+                final Variable CommonVar = Variables.makeCommonVariable(term1, term2);
+                put(0, v1, CommonVar);
+                put(1, v2, CommonVar);
+                return true;
+            }
+        }
+
+        final boolean term1VarUnifyAllowed = term1Var && Variables.allowUnification(((Variable) term1).getType(), type);
+        final boolean term2VarUnifyAllowed = term2Var && Variables.allowUnification(((Variable) term2).getType(), type);
+
+        if (term1VarUnifyAllowed || term2VarUnifyAllowed) {
+
+            final Term termA = term1VarUnifyAllowed ? term1 : term2;
+            final Term termB = term1VarUnifyAllowed ? term2 : term1;
+            final int mapIdx = term1VarUnifyAllowed ? 0 : 1;
+            final Variable termAAsVariable = (Variable)termA;
+
+            final Term t = get(mapIdx, termAAsVariable);
+            if (t != null) {
+                return findSubstitute(type, mapIdx, termAAsVariable, t, termB);
+            }
+
+            if (term1VarUnifyAllowed) {
+                if ((termB instanceof Variable) && Variables.allowUnification(((Variable) termB).getType(), type)) {
+                    final Variable CommonVar = Variables.makeCommonVariable(termA, termB);
+                    put(0, termAAsVariable, CommonVar);
+                    put(1, termB, CommonVar);
+                } else {
+                    if(termB instanceof Variable && ((((Variable)termB).getType()==Symbols.VAR_QUERY && ((Variable)termA).getType()!=Symbols.VAR_QUERY) ||
+                        (((Variable)termB).getType()!=Symbols.VAR_QUERY && ((Variable)termA).getType()==Symbols.VAR_QUERY))) {
+                        return false;
+                    }
+                    put(0, termAAsVariable, termB);
+                    if (termAAsVariable.isCommon()) {
+                        put(1, termAAsVariable, termB);
+                    }
+                }
+            } else {
+                put(1, termAAsVariable, termB);
+                if (termAAsVariable.isCommon()) {
+                    put(0, termAAsVariable, termB);
+                }
+            }
+            return true;
+        }
+
+        final boolean hasAnyTermVars = term1HasVar || term2HasVar;
+        final boolean termsHaveSameClass = term1.getClass().equals(term2.getClass());
+
+        if (!(hasAnyTermVars && termsHaveSameClass && term1 instanceof CompoundTerm)) {
+            return termsEqual;
+        }
+
+        final CompoundTerm cTerm1 = (CompoundTerm) term1;
+        final CompoundTerm cTerm2 = (CompoundTerm) term2;
+
+        //consider temporal order on term matching
+        final boolean isSameOrder = term1.getTemporalOrder() == term2.getTemporalOrder();
+        final boolean isSameSpatial = term1.getIsSpatial() == term2.getIsSpatial();
+        final boolean isSameOrderAndSameSpatial = isSameOrder && isSameSpatial;
+
+        final boolean areBothConjuctions = term1 instanceof Conjunction && term2 instanceof Conjunction;
+        final boolean areBothImplication = term1 instanceof Implication && term2 instanceof Implication;
+        final boolean areBothEquivalence = term1 instanceof Equivalence && term2 instanceof Equivalence;
+
+        if(
+            (areBothConjuctions && !isSameOrderAndSameSpatial) ||
+            ((areBothEquivalence || areBothImplication) && !isSameOrder)
+        ) {
+            return false;
+        }
+
+        if (cTerm1.size() != cTerm2.size()) {
+            return false;
+        }
+        if ((cTerm1 instanceof ImageExt) && (((ImageExt) cTerm1).relationIndex != ((ImageExt) cTerm2).relationIndex) || (cTerm1 instanceof ImageInt) && (((ImageInt) cTerm1).relationIndex != ((ImageInt) cTerm2).relationIndex)) {
+            return false;
+        }
+        if (cTerm1.isCommutative()) {
+            return findCommutative(type, cTerm1, cTerm2);
+        }
+        for (int i = 0; i < cTerm1.term.length; i++) {
+            if (!find(type, cTerm1.term[i], cTerm2.term[i], false)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Match the substitution of a variable against a term. A substitution
+     * that leads back to the variable, such as $1 to (*,#1) and #1 to (*,$1),
+     * can't be unified and fails instead of being followed forever.
+     */
+    private boolean findSubstitute(final char type, final int side, final Variable variable, final Term substitute, final Term term) {
+        for (int i = 0; i < followingSize; i++) {
+            if (followingSides[i] == side && following[i].equals(variable)) {
+                return false;
+            }
+        }
+        if (followingSize == following.length) {
+            following = Arrays.copyOf(following, followingSize * 2);
+            followingSides = Arrays.copyOf(followingSides, followingSize * 2);
+        }
+        following[followingSize] = variable;
+        followingSides[followingSize] = (byte) side;
+        followingSize++;
+        try {
+            return find(type, substitute, term, false);
+        } finally {
+            following[--followingSize] = null;
+        }
+    }
+
+    /**
+     * Match the components of two commutative compounds of the same size in
+     * a random order, each attempt being undone when it fails
+     */
+    private boolean findCommutative(final char type, final CompoundTerm cTerm1, final CompoundTerm cTerm2) {
+        final int n = cTerm1.term.length;
+        if (depth == lists.length) {
+            lists = Arrays.copyOf(lists, depth * 2);
+            matched = Arrays.copyOf(matched, depth * 2);
+        }
+        if (lists[depth] == null || lists[depth].length < n) {
+            lists[depth] = new Term[n];
+            matched[depth] = new boolean[n];
+        }
+        final Term[] list = lists[depth];
+        final boolean[] matchedJ = matched[depth];
+        System.arraycopy(cTerm1.term, 0, list, 0, n);
+        Arrays.fill(matchedJ, 0, n, false);
+        CompoundTerm.shuffle(list, n, Memory.randomNumber);
+        depth++;
+        try {
+            for(int i = 0; i < n; i++) {
+                boolean succeeded = false;
+                for(int j = 0; j < n; j++) {
+                    if(matchedJ[j]) { //this one already was used to match one of the i's
+                        continue;
+                    }
+                    final int size0 = size[0], size1 = size[1];
+                    //attempt unification:
+                    if(find(type, list[i], cTerm2.term[i], false)) {
+                        succeeded = true;
+                        matchedJ[j] = true;
+                        break;
+                    }
+                    undo(size0, size1);
+                }
+                if(!succeeded) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            depth--;
+            Arrays.fill(list, 0, n, null);
+        }
+    }
+
+    /**
+     * More effective matching for NLP: find an offset in the longer of two
+     * sequences at which each element of the shorter one unifies with the
+     * substitutions found before, the substitutions of the elements are then
+     * put in effect in turn
+     */
+    private boolean findPartial(final char type, final Conjunction c1, final Conjunction c2) {
+        if(c1.getTemporalOrder() != TemporalRules.ORDER_FORWARD ||
+                c2.getTemporalOrder() != TemporalRules.ORDER_FORWARD ||
+                c1.size() >= c2.size()) {
+            return false;
+        }
+        final int size_smaller = c1.size();
+        final int size0 = size[0], size1 = size[1];
+        //find an offset that works
+        for(int k=0;k<(c2.term.length - c1.term.length);k++) {
+            boolean succeeded = true;
+            for(int j=k;j<k+size_smaller;j++) {
+                final int i = j-k;
+                //attempt unification:
+                final boolean unified = find(type, c1.term[i], c2.term[j], false);
+                if(unified) {
+                    saveForPartial();
+                }
+                undo(size0, size1);
+                if(!unified) { //another shift k is needed
+                    succeeded = false;
+                    break;
+                }
+            }
+            if(succeeded) {
+                for(int i = 0; i < partialSize; i++) {
+                    put(partialSides[i], partialKeys[i], partialValues[i]);
+                }
+                clearPartial();
+                return true;
+            }
+            clearPartial();
+        }
+        return false;
+    }
+}
@@ -14,14 +14,10 @@
  */
 package org.opennars.language;
 
-import org.opennars.inference.TemporalRules;
 import org.opennars.io.Symbols;
-import org.opennars.storage.Memory;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Static utility class for static methods related to Variables
@@ -63,227 +59,19 @@ public class Variables {
         return findSubstitute(type, term1, term2, map, false);
     }
     public static boolean findSubstitute(final char type, final Term term1, final Term term2, final Map<Term, Term>[] map, final boolean allowPartial) {
-
-        boolean term1HasVar = term1.hasVar(type);
-        if(type == Symbols.VAR_INDEPENDENT) {
-            term1HasVar |= term1.hasVarDep();
-            term1HasVar |= term1.hasVarQuery();
-        }
-        if(type == Symbols.VAR_DEPENDENT) {
-            term1HasVar |= term1.hasVarQuery();
-        }
-        final boolean term2HasVar = term2.hasVar(type);
-        
-        
-        final boolean term1Var = term1 instanceof Variable;
-        final boolean term2Var = term2 instanceof Variable;
-        
-        if(allowPartial && term1 instanceof Conjunction && term2 instanceof Conjunction) {
-            final Conjunction c1 = (Conjunction) term1;
-            final Conjunction c2 = (Conjunction) term2;
-            //more effective matching for NLP
-            if(c1.getTemporalOrder() == TemporalRules.ORDER_FORWARD &&
-                    c2.getTemporalOrder() == TemporalRules.ORDER_FORWARD) {
-                final int size_smaller = c1.size();
-                if(c1.size() < c2.size()) {
-                    //find an offset that works
-                    for(int k=0;k<(c2.term.length - c1.term.length);k++) {
-                        final Map<Term, Term>[] mapk = (Map<Term, Term>[]) new HashMap<?,?>[2];
-                        mapk[0] = new HashMap<>();
-                        mapk[1] = new HashMap<>();
-                        if(map[0] == null) {
-                            map[0] = new HashMap<>();
-                        }
-                        if(map[1] == null) {
-                            map[1] = new HashMap<>();
-                        }
-                        appendToMap(map[0], mapk[0]);
-                        appendToMap(map[1], mapk[1]);
-                        boolean succeeded = true;
-                        for(int j=k;j<k+size_smaller;j++) {
-                            final int i = j-k;
-                            final Map<Term, Term>[] mapNew = (Map<Term, Term>[]) new HashMap<?,?>[2];
-                            mapNew[0] = new HashMap<>();
-                            mapNew[1] = new HashMap<>();
-                            appendToMap(map[0], mapNew[0]);
-                            appendToMap(map[1], mapNew[1]);
-                            //attempt unification:
-                            if(findSubstitute(type,c1.term[i],c2.term[j],mapNew)) {
-                                appendToMap(mapNew[0], mapk[0]);
-                                appendToMap(mapNew[1], mapk[1]);
-                            } else { //another shift k is needed
-                                succeeded = false;
-                                break;
-                            }
-                        }
-                        if(succeeded) {
-                            appendToMap(mapk[0], map[0]);
-                            appendToMap(mapk[1], map[1]);
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
-        
-        final boolean termsEqual = term1.equals(term2);
-        if (!term1Var && !term2Var && termsEqual)  {
-            return true;
-        }
-        
-        
-        /*if (termsEqual) {
-            return true;
-        }*/
-        
-        final Term t;
-        //variable "renaming" to variable of same type is always valid
-        if(term1 instanceof Variable && term2 instanceof Variable) {
-            final Variable v1 = (Variable) term1;
-            final Variable v2 = (Variable) term2;
-            if(v1.getType() == v2.getType()) {
-                final Variable CommonVar = makeCommonVariable(term1, term2);
-                if (map[0] == null) {  map[0] = new HashMap(); map[1] = new HashMap(); }                
-                map[0].put(v1, CommonVar);
-                map[1].put(v2, CommonVar);
-                return true;
-            }
-        }
-
-        final boolean term1VarUnifyAllowed = term1Var && allowUnification(((Variable) term1).getType(), type);
-        final boolean term2VarUnifyAllowed = term2Var && allowUnification(((Variable) term2).getType(), type);
-
-        if (term1VarUnifyAllowed || term2VarUnifyAllowed) {
-
-            Term termA = term1VarUnifyAllowed ? term1 : term2;
-            Term termB = term1VarUnifyAllowed ? term2 : term1;
-            int mapIdx = term1VarUnifyAllowed ? 0 : 1;
-            Variable termAAsVariable = (Variable)termA;
-
-            t = map[mapIdx]!=null ? map[mapIdx].get(termAAsVariable) : null;
-
-            if (t != null) {
-                return findSubstitute(type, t, termB, map);
-            }
-
-            if (map[0] == null) {  map[0] = new HashMap(); map[1] = new HashMap(); }
-
-            if (term1VarUnifyAllowed) {
-
-                if ((termB instanceof Variable) && allowUnification(((Variable) termB).getType(), type)) {
-                    final Variable CommonVar = makeCommonVariable(termA, termB);
-                    map[0].put(termAAsVariable, CommonVar);
-                    map[1].put(termB, CommonVar);
-                } else {
-                    if(termB instanceof Variable && ((((Variable)termB).getType()==Symbols.VAR_QUERY && ((Variable)termA).getType()!=Symbols.VAR_QUERY) ||
-                        (((Variable)termB).getType()!=Symbols.VAR_QUERY && ((Variable)termA).getType()==Symbols.VAR_QUERY))) {
-                        return false;
-                    }
-                    map[0].put(termAAsVariable, termB);
-                    if (termAAsVariable.isCommon()) {
-                        map[1].put(termAAsVariable, termB);
-                    }
-                }
-            } else {
-                map[1].put(termAAsVariable, termB);
-                if (termAAsVariable.isCommon()) {
-                    map[0].put(termAAsVariable, termB);
-                }
-            }
-
-            return true;
-
-        } else {
-            final boolean hasAnyTermVars = term1HasVar || term2HasVar;
-            final boolean termsHaveSameClass = term1.getClass().equals(term2.getClass());
-            
-            if (!(hasAnyTermVars && termsHaveSameClass && term1 instanceof CompoundTerm)) {
-                return termsEqual;
+        final Unifier u = Unifier.get();
+        try {
+            u.putAll(0, map[0]);
+            u.putAll(1, map[1]);
+            final boolean found = u.find(type, term1, term2, allowPartial);
+            if (!u.isEmpty(0) || !u.isEmpty(1)) {
+                //also when not found, the substitutions found before the failure remain
+                map[0] = u.toMap(0, map[0]);
+                map[1] = u.toMap(1, map[1]);
             }
-
-            final CompoundTerm cTerm1 = (CompoundTerm) term1;
-            final CompoundTerm cTerm2 = (CompoundTerm) term2;
-
-            //consider temporal order on term matching
-            final boolean isSameOrder = term1.getTemporalOrder() == term2.getTemporalOrder();
-            final boolean isSameSpatial = term1.getIsSpatial() == term2.getIsSpatial();
-            final boolean isSameOrderAndSameSpatial = isSameOrder && isSameSpatial;
-
-            final boolean areBothConjuctions = term1 instanceof Conjunction && term2 instanceof Conjunction;
-            final boolean areBothImplication = term1 instanceof Implication && term2 instanceof Implication;
-            final boolean areBothEquivalence = term1 instanceof Equivalence && term2 instanceof Equivalence;
-
-            if(
-                (areBothConjuctions && !isSameOrderAndSameSpatial) ||
-                ((areBothEquivalence || areBothImplication) && !isSameOrder)
-            ) {
-                return false;
-            }
-
-            if (cTerm1.size() != cTerm2.size()) {
-                return false;
-            }
-            if ((cTerm1 instanceof ImageExt) && (((ImageExt) cTerm1).relationIndex != ((ImageExt) cTerm2).relationIndex) || (cTerm1 instanceof ImageInt) && (((ImageInt) cTerm1).relationIndex != ((ImageInt) cTerm2).relationIndex)) {
-                return false;
-            }
-            final Term[] list = cTerm1.cloneTerms();
-            if (cTerm1.isCommutative()) {
-                CompoundTerm.shuffle(list, Memory.randomNumber);
-                final Set<Integer> alreadyMatched = new HashSet<>();
-                //ok attempt unification
-                if(cTerm2 == null || list == null || cTerm2.term == null || list.length != cTerm2.term.length) {
-                    return false;
-                }
-                final Set<Integer> matchedJ = new HashSet<>(list.length * 2);
-                for(int i = 0; i < list.length; i++) {
-                    boolean succeeded = false;
-                    for(int j = 0; j < list.length; j++) {
-                        if(matchedJ.contains(j)) { //this one already was used to match one of the i's
-                            continue;
-                        }
-                        final Term ti = list[i].clone();
-                        //clone map also:
-                        final Map<Term, Term>[] mapNew = (Map<Term, Term>[]) new HashMap<?,?>[2];
-                        mapNew[0] = new HashMap<>();
-                        mapNew[1] = new HashMap<>();
-                        if(map[0] == null) {
-                            map[0] = new HashMap<>();
-                        }
-                        if(map[1] == null) {
-                            map[1] = new HashMap<>();
-                        }
-                        appendToMap(map[0], mapNew[0]);
-                        appendToMap(map[1], mapNew[1]);
-                        //attempt unification:
-                        if(findSubstitute(type,ti,cTerm2.term[i],mapNew)) {
-                            appendToMap(mapNew[0], map[0]);
-                            appendToMap(mapNew[1], map[1]);
-                            succeeded = true;
-                            matchedJ.add(j);
-                            break;
-                        }
-                    }
-                    if(!succeeded) {
-                        return false;
-                    }
-                }
-                return true;
-            }
-            for (int i = 0; i < cTerm1.size(); i++) {
-                final Term t1 = list[i];
-                final Term t2 = cTerm2.term[i];
-                if (!findSubstitute(type, t1, t2, map)) {
-                    return false;
-                }
-            }
-            return true;
-
-        }
-    }
-
-    private static void appendToMap(Map<Term, Term> source, Map<Term, Term> target) {
-        for(final Term c : source.keySet()) {
-            target.put(c, source.get(c));
+            return found;
+        } finally {
+            u.release();
         }
     }
 
@@ -342,30 +130,36 @@ public class Variables {
         return unify(type, t1, t2, compound, false);
     }
     public static boolean unify(final char type, final Term t1, final Term t2, final Term[] compound, final boolean allowPartial) {
-        final Map<Term, Term> map[] = new Map[2]; //begins empty: null,null
-        
-        final boolean hasSubs = findSubstitute(type, t1, t2, map, allowPartial);
-        if (hasSubs) {
-            final Term a = (compound[0] instanceof Variable && map[0].containsKey(compound[0])) ? 
-                            map[0].get(compound[0]) : 
-                            applySubstituteAndRenameVariables(((CompoundTerm)compound[0]), map[0]);
-            if (a == null) return false;
-            final Term b = (compound[1] instanceof Variable && map[1].containsKey(compound[1])) ? 
-                            map[1].get(compound[1]) :
-                            applySubstituteAndRenameVariables(((CompoundTerm)compound[1]), map[1]);
-            if (b == null) return false;
-            //only set the values if it will return true, otherwise if it returns false the callee can expect its original values untouched
-            if(compound[0] instanceof Variable && compound[0].hasVarQuery() && (a.hasVarIndep() || a.hasVarIndep()) ) {
-                return false;
-            }
-            if(compound[1] instanceof Variable && compound[1].hasVarQuery() && (b.hasVarIndep() || b.hasVarIndep()) ) {
+        final Map<Term, Term> map0, map1;
+        final Unifier u = Unifier.get();
+        try {
+            if (!u.find(type, t1, t2, allowPartial)) {
                 return false;
             }
-            compound[0] = a;
-            compound[1] = b;
-            return true;
+            //the maps are made only for a match
+            map0 = u.isEmpty(0) ? Collections.emptyMap() : u.toMap(0, null);
+            map1 = u.isEmpty(1) ? Collections.emptyMap() : u.toMap(1, null);
+        } finally {
+            u.release();
         }
-        return false;
+        final Term a = (compound[0] instanceof Variable && map0.containsKey(compound[0])) ? 
+                        map0.get(compound[0]) : 
+                        applySubstituteAndRenameVariables(((CompoundTerm)compound[0]), map0);
+        if (a == null) return false;
+        final Term b = (compound[1] instanceof Variable && map1.containsKey(compound[1])) ? 
+                        map1.get(compound[1]) :
+                        applySubstituteAndRenameVariables(((CompoundTerm)compound[1]), map1);
+        if (b == null) return false;
+        //only set the values if it will return true, otherwise if it returns false the callee can expect its original values untouched
+        if(compound[0] instanceof Variable && compound[0].hasVarQuery() && (a.hasVarIndep() || a.hasVarIndep()) ) {
+            return false;
+        }
+        if(compound[1] instanceof Variable && compound[1].hasVarQuery() && (b.hasVarIndep() || b.hasVarIndep()) ) {
+            return false;
+        }
+        compound[0] = a;
+        compound[1] = b;
+        return true;
     }
 
     /** appliesSubstitute and renameVariables, resulting in a cloned object, 
@@ -427,7 +221,12 @@ public class Variables {
      * @return Whether there is a substitution
      */
     public static boolean hasSubstitute(final char type, final Term term1, final Term term2) {
-        return findSubstitute(type, term1, term2, new HashMap<>(), new HashMap<>());
+        final Unifier u = Unifier.get();
+        try {
+            return u.find(type, term1, term2, false);
+        } finally {
+            u.release();
+        }
     }
     
 }
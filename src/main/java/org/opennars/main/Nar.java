@@ -15,6 +15,7 @@
 package org.opennars.main;
 
 import org.apache.commons.lang3.StringUtils;
+import org.opennars.control.CycleTimes;
 import org.opennars.entity.*;
 import org.opennars.interfaces.pub.Reasoner;
 import org.opennars.io.Narsese;
@@ -35,11 +36,12 @@ import org.opennars.language.Term;
 import org.opennars.operator.Operator;
 import org.opennars.plugin.Plugin;
 import org.opennars.plugin.perception.SensoryChannel;
-import org.opennars.storage.LevelBag;
+import org.opennars.storage.BagFactory;
 import org.opennars.storage.Memory;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -55,7 +57,7 @@ import java.util.logging.Logger;
  *   * thread mode - runs in a pausable closed-loop at a specific maximum framerate.
  */
 public class Nar extends SensoryChannel implements Reasoner, Serializable, Runnable {
-    public NarParameters narParameters = new NarParameters();
+    public NarParameters narParameters;
 
     /**
      * The information about the version and date of the project.
@@ -103,6 +105,10 @@ public class Nar extends SensoryChannel implements Reasoner, Serializable, Runna
 
     private Thread thread = null;
     long minCyclePeriodMS;
+    /** wall-clock time of each cycle of the running loop, 0 to fire concepts once per cycle */
+    long cycleBudgetMS;
+    /** phase times of the last cycle of the running loop when it has a budget */
+    private volatile CycleTimes lastCycleTimes;
 
     /**
      * The name of the reasoner
@@ -185,12 +191,18 @@ public class Nar extends SensoryChannel implements Reasoner, Serializable, Runna
     private boolean threadYield;
 
     public Nar() {
-        final Plugins b = new Plugins();
-        final Memory m = new Memory(new RuntimeParameters(),
-                new LevelBag(narParameters.CONCEPT_BAG_LEVELS, narParameters.CONCEPT_BAG_SIZE),
-                new LevelBag<>(Parameters.NOVEL_TASK_BAG_LEVELS, Parameters.NOVEL_TASK_BAG_SIZE),
-                new LevelBag<>(Parameters.SEQUENCE_BAG_LEVELS, Parameters.SEQUENCE_BAG_SIZE),
-                new LevelBag<>(Parameters.OPERATION_BAG_LEVELS, Parameters.OPERATION_BAG_SIZE));
+        this(new NarParameters());
+    }
+
+    /** @param narParameters Parameters of this instance, including the factory of its bags */
+    public Nar(final NarParameters narParameters) {
+        this.narParameters = narParameters;
+        final BagFactory bags = narParameters.BAG_FACTORY;
+        final Memory m = new Memory(narParameters, new RuntimeParameters(),
+                bags.newConceptBag(),
+                bags.newNovelTaskBag(),
+                bags.newSequenceBag(),
+                bags.newOperationBag());
         this.memory = m;
         this.param = m.param;
         for (final Operator o : Operators.get(this))
@@ -256,6 +268,11 @@ public class Nar extends SensoryChannel implements Reasoner, Serializable, Runna
         }
     }
     
+    /**
+     * Parses the text on the calling thread and queues the task for the next
+     * cycle, so any thread can add input while the Nar is running; commands
+     * are executed at once
+     */
     public void addInput(String text) {
         text = text.trim();
         final Narsese narsese = new Narsese(this);
@@ -301,7 +318,7 @@ public class Nar extends SensoryChannel implements Reasoner, Serializable, Runna
             }
         }
         //else input into NARS directly:
-        this.memory.inputTask(task);
+        this.memory.queueInput(task);
     }
     
     public void addInputFile(final String s) {
@@ -372,8 +389,9 @@ public class Nar extends SensoryChannel implements Reasoner, Serializable, Runna
 
     }
 
+    /** queues the task for the next cycle, may be called by any thread */
     public Nar addInput(final Task t) {
-        this.memory.inputTask(t);
+        this.memory.queueInput(t);
         return this;
     }
 
@@ -420,11 +438,27 @@ public class Nar extends SensoryChannel implements Reasoner, Serializable, Runna
 
     public void start(final long minCyclePeriodMS) {
         this.minCyclePeriodMS = minCyclePeriodMS;
+        this.cycleBudgetMS = 0;
+        startThread();
+    }
+
+    /**
+     * Run cycles continuously, each firing concepts until cycleBudgetMS of
+     * wall-clock time have passed, for a loop with a fixed period
+     */
+    public void startBudgeted(final long cycleBudgetMS) {
+        this.minCyclePeriodMS = 0;
+        this.cycleBudgetMS = cycleBudgetMS;
+        startThread();
+    }
+
+    private void startThread() {
+        //set before the thread starts, or its loop may see running false and end at once
+        running = true;
         if (thread == null) {
             thread = new Thread(this, "Inference");
             thread.start();
         }
-        running = true;
     }
 
     /**
@@ -459,7 +493,11 @@ public class Nar extends SensoryChannel implements Reasoner, Serializable, Runna
 
         while (running && !stopped) {
             emit(CyclesStart.class);
-            cycle();
+            if (cycleBudgetMS > 0) {
+                lastCycleTimes = cycle(TimeUnit.MILLISECONDS.toNanos(cycleBudgetMS));
+            } else {
+                cycle();
+            }
             emit(CyclesEnd.class);
 
             if (minCyclePeriodMS > 0) {
@@ -482,8 +520,24 @@ public class Nar extends SensoryChannel implements Reasoner, Serializable, Runna
      * A frame, consisting of one or more Nar memory cycles
      */
     public void cycle() {
+        cycle(0, null);
+    }
+
+    /**
+     * A cycle which fires concepts until budgetNS of wall-clock time have
+     * passed since it started
+     *
+     * @return the time spent in each phase
+     */
+    public CycleTimes cycle(final long budgetNS) {
+        final CycleTimes times = new CycleTimes();
+        cycle(budgetNS, times);
+        return times;
+    }
+
+    private void cycle(final long budgetNS, final CycleTimes times) {
         try {
-            memory.cycle(this);
+            memory.cycle(this, budgetNS, times);
         }
         catch (final Exception e) {
             if(Parameters.SHOW_REASONING_ERRORS) {
@@ -511,6 +565,15 @@ public class Nar extends SensoryChannel implements Reasoner, Serializable, Runna
         return minCyclePeriodMS;
     }
 
+    public long getCycleBudgetMS() {
+        return cycleBudgetMS;
+    }
+
+    /** phase times of the last cycle run by startBudgeted, null before */
+    public CycleTimes getLastCycleTimes() {
+        return lastCycleTimes;
+    }
+
     /** When b is true, Nar will call Thread.yield each run() iteration that minCyclePeriodMS==0 (no delay).
      *  This is for improving program responsiveness when Nar is run with no delay.
      */
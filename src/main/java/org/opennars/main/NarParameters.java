@@ -14,7 +14,13 @@
  */
 package org.opennars.main;
 
-public class NarParameters {
+import org.opennars.storage.BagFactory;
+import org.opennars.storage.BagType;
+import org.opennars.storage.DefaultBagFactory;
+
+import java.io.Serializable;
+
+public class NarParameters implements Serializable {
     /** what this value represents was originally equal to the termlink record length (10), but we may want to adjust it or make it scaled according to duration since it has more to do with time than # of records.  it can probably be increased several times larger since each item should remain in the recording queue for longer than 1 cycle */
     public int NOVELTY_HORIZON = 100000;
 
@@ -22,7 +28,90 @@ public class NarParameters {
      *  the range of "now" is [-DURATION, DURATION]; */
     public float DECISION_THRESHOLD = 0.51f;
 
+    /** 
+       Cycles per duration.
+       Past/future tense usage convention;
+       How far away "past" and "future" is from "now", in cycles.         
+       The range of "now" is [-DURATION/2, +DURATION/2];      */
+    public int DURATION = 5;
+
+    public boolean IMMEDIATE_ETERNALIZATION = true;
+
+    public float DERIVATION_PRIORITY_LEAK = 0.4f; //https://groups.google.com/forum/#!topic/open-nars/y0XDrs2dTVs
+    public float DERIVATION_DURABILITY_LEAK = 0.4f; //https://groups.google.com/forum/#!topic/open-nars/y0XDrs2dTVs
+
+    public float CURIOSITY_BUSINESS_THRESHOLD = 0.18f; //dont be curious if business is above
+    public float CURIOSITY_PRIORITY_THRESHOLD = 0.3f; //0.3f in 1.6.3
+    public float CURIOSITY_CONFIDENCE_THRESHOLD = 0.8f;
+    public float CURIOSITY_DESIRE_CONFIDENCE_MUL = 0.1f; //how much risk is the system allowed to take just to fullfill its hunger for knowledge?
+    public float CURIOSITY_DESIRE_PRIORITY_MUL = 0.1f; //how much priority should curiosity have?
+    public float CURIOSITY_DESIRE_DURABILITY_MUL = 0.3f; //how much durability should curiosity have?
+    public boolean CURIOSITY_FOR_OPERATOR_ONLY = false; //for Peis concern that it may be overkill to allow it for all <a =/> b> statement, so that a has to be an operator
+    public boolean CURIOSITY_ALSO_ON_LOW_CONFIDENT_HIGH_PRIORITY_BELIEF = false;
+
+    public float HAPPY_EVENT_HIGHER_THRESHOLD = 0.75f;
+    public float HAPPY_EVENT_LOWER_THRESHOLD = 0.25f;
+    public float BUSY_EVENT_HIGHER_THRESHOLD = 0.9f; //1.6.4, step by step^, there is already enough new things ^^
+    public float BUSY_EVENT_LOWER_THRESHOLD = 0.1f;
+    public boolean REFLECT_META_HAPPY_GOAL = false;
+    public boolean CONSIDER_REMIND = false;
+
+    public boolean QUESTION_GENERATION_ON_DECISION_MAKING = false;
+    public boolean HOW_QUESTION_GENERATION_ON_DECISION_MAKING = true;
+
+    public float ANTICIPATION_CONFIDENCE = 0.90f;
+
+    public float SATISFACTION_TRESHOLD = 0.0f; //decision threshold is enough for now
+
     /** Size of ConceptBag and level amount */
     public int CONCEPT_BAG_SIZE = 10000;
     public int CONCEPT_BAG_LEVELS = 1000;
+    /** Size of TaskLinkBag */
+    public int TASK_LINK_BAG_SIZE = 100;  //was 200 in new experiment
+    public int TASK_LINK_BAG_LEVELS = 10;
+    /** Size of TermLinkBag */
+    public int TERM_LINK_BAG_SIZE = 100;  //was 1000 in new experiment
+    public int TERM_LINK_BAG_LEVELS = 10;
+    /** Size of Novel Task Buffer */
+    public int NOVEL_TASK_BAG_SIZE = 100;
+    public int NOVEL_TASK_BAG_LEVELS = 10;
+    /*  Size of derived sequence and input event bag */
+    public int SEQUENCE_BAG_SIZE = 30;
+    public int SEQUENCE_BAG_LEVELS = 10;
+    /*  Size of remembered last operation tasks */
+    public int OPERATION_BAG_SIZE = 10;
+    public int OPERATION_BAG_LEVELS = 10;
+
+    /** Bag implementation of the concept bag and of the task-link and term-link bags of each concept */
+    public BagType CONCEPT_BAG_TYPE = BagType.LEVEL;
+    public BagType TASK_LINK_BAG_TYPE = BagType.LEVEL;
+    public BagType TERM_LINK_BAG_TYPE = BagType.LEVEL;
+    /** Bag implementation of the novel task, sequence and recent operation buffers */
+    public BagType NOVEL_TASK_BAG_TYPE = BagType.LEVEL;
+    public BagType SEQUENCE_BAG_TYPE = BagType.LEVEL;
+    public BagType OPERATION_BAG_TYPE = BagType.LEVEL;
+
+    /** Creates all bags of the Nar, by default from the types and sizes above; replace to use other bag engines */
+    public BagFactory BAG_FACTORY = new DefaultBagFactory(this);
+
+    /** Forget bag items by the cycles elapsed since they were last put back instead of once per put back */
+    public boolean LAZY_FORGETTING = false;
+
+    /** Most new tasks waiting for the next cycle, beyond it the ones of lowest priority are put into the novel task buffer or dropped */
+    public int NEW_TASKS_CAPACITY = 10000;
+
+    /** Input tasks taken from the input queue per cycle, the others wait for the next cycles */
+    public int INPUT_TASKS_PER_CYCLE = Integer.MAX_VALUE;
+
+    /** Record the metrics of the memory, see Memory.metrics; can also be switched on and off while running */
+    public boolean METRICS = false;
+
+    /** Profile the time and derivations of each inference rule, see Memory.ruleProfiler */
+    public boolean RULE_PROFILER = false;
+
+    /** Concepts fired per cycle, more than one are fired in parallel by INFERENCE_THREADS threads */
+    public int CONCEPTS_FIRED_PER_CYCLE = 1;
+    public int INFERENCE_THREADS = Runtime.getRuntime().availableProcessors();
+    /** Fire concepts in parallel such that the results do not depend on the number of threads or their timing */
+    public boolean DETERMINISTIC_INFERENCE = true;
 }
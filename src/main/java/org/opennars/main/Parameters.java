@@ -26,14 +26,6 @@ public class Parameters {
     public static final boolean SHOW_REASONING_ERRORS=false; //currently false because the sentence constructor is the only one
                                                        //who creates them but is not doing it because of an error.
     
-    /** 
-       Cycles per duration.
-       Past/future tense usage convention;
-       How far away "past" and "future" is from "now", in cycles.         
-       The range of "now" is [-DURATION/2, +DURATION/2];      */
-    
-    public static int DURATION = 5;
-
     /** use this for advanced error checking, at the expense of lower performance.
      it is enabled for unit tests automatically regardless of the value here.    */
     public static boolean DEBUG = false;
@@ -119,23 +111,8 @@ public class Parameters {
 
     public static final int REVISION_MAX_OCCURRENCE_DISTANCE = 10;
 
-    /** Size of TaskLinkBag */
-    public static final int TASK_LINK_BAG_SIZE = 100;  //was 200 in new experiment
-    public static final int TASK_LINK_BAG_LEVELS = 10;
-    /** Size of TermLinkBag */
-    public static final int TERM_LINK_BAG_SIZE = 100;  //was 1000 in new experiment
-    public static final int TERM_LINK_BAG_LEVELS = 10;
     /** Maximum TermLinks checked for novelty for each TaskLink in TermLinkBag */
     public static final int TERM_LINK_MAX_MATCHED = 10;
-    /** Size of Novel Task Buffer */
-    public static final int NOVEL_TASK_BAG_SIZE = 100;
-    public static final int NOVEL_TASK_BAG_LEVELS = 10;
-    /*  Size of derived sequence and input event bag */
-    public static int SEQUENCE_BAG_SIZE = 30;
-    public static int SEQUENCE_BAG_LEVELS = 10;
-    /*  Size of remembered last operation tasks */
-    public static final int OPERATION_BAG_SIZE = 10;
-    public static final int OPERATION_BAG_LEVELS = 10;
     public static final int OPERATION_SAMPLES = 6; //should be at least 2 to not only consider last decision
     
     /** How fast events decay in confidence **/
@@ -217,41 +194,17 @@ public class Parameters {
 
     /** equivalency based on Term contents; experimental mode - not ready yet, leave FALSE */
     public static final boolean TERM_ELEMENT_EQUIVALENCY = false;
-  
-    //temporary parameter for setting #threads to use, globally
-    public static boolean IMMEDIATE_ETERNALIZATION=true;
 
+    /** share one instance of equal ground terms of sentences and concepts, see TermInterner */
+    public static final boolean TERM_INTERNING = true;
+  
 
     // public static int STM_SIZE = 1;
     public static int SEQUENCE_BAG_ATTEMPTS = 10; //5 //20
     public static final int CONDITION_BAG_ATTEMPTS = 10; //5 //20
 
-    public static float DERIVATION_PRIORITY_LEAK = 0.4f; //https://groups.google.com/forum/#!topic/open-nars/y0XDrs2dTVs
-
-    public static float DERIVATION_DURABILITY_LEAK = 0.4f; //https://groups.google.com/forum/#!topic/open-nars/y0XDrs2dTVs
-
-    public static float CURIOSITY_BUSINESS_THRESHOLD=0.18f; //dont be curious if business is above
-    public static float CURIOSITY_PRIORITY_THRESHOLD=0.3f; //0.3f in 1.6.3
-    public static float CURIOSITY_CONFIDENCE_THRESHOLD=0.8f;
-    public static float CURIOSITY_DESIRE_CONFIDENCE_MUL=0.1f; //how much risk is the system allowed to take just to fullfill its hunger for knowledge?
-    public static float CURIOSITY_DESIRE_PRIORITY_MUL=0.1f; //how much priority should curiosity have?
-    public static float CURIOSITY_DESIRE_DURABILITY_MUL=0.3f; //how much durability should curiosity have?
-    public static boolean CURIOSITY_FOR_OPERATOR_ONLY=false; //for Peis concern that it may be overkill to allow it for all <a =/> b> statement, so that a has to be an operator
-    public static boolean CURIOSITY_ALSO_ON_LOW_CONFIDENT_HIGH_PRIORITY_BELIEF=false;
-
-    public static float HAPPY_EVENT_HIGHER_THRESHOLD=0.75f;
-    public static float HAPPY_EVENT_LOWER_THRESHOLD=0.25f;
-    public static float BUSY_EVENT_HIGHER_THRESHOLD=0.9f; //1.6.4, step by step^, there is already enough new things ^^
-    public static float BUSY_EVENT_LOWER_THRESHOLD=0.1f;
-    public static boolean REFLECT_META_HAPPY_GOAL=false;
-    public static boolean CONSIDER_REMIND=false;
     public static final boolean BREAK_NAL_HOL_BOUNDARY=false;
 
-    public static boolean QUESTION_GENERATION_ON_DECISION_MAKING=false;
-    public static boolean HOW_QUESTION_GENERATION_ON_DECISION_MAKING=true;
-
-    public static float ANTICIPATION_CONFIDENCE = 0.90f;
-
     public static final float ANTICIPATION_TOLERANCE = 50.0f;
     
     public static float CONSIDER_NEW_OPERATION_BIAS = 0.05f; //depriorizes older operation-related events in temporal inference
@@ -260,8 +213,6 @@ public class Parameters {
     
     public static final int AUTOMATIC_DECISION_USUAL_DECISION_BLOCK_CYCLES = 500;
     
-    public static float SATISFACTION_TRESHOLD = 0.0f; //decision threshold is enough for now
-    
     public static final float COMPLEXITY_UNIT=1.0f; //1.0 - oo
     
     public static final float INTERVAL_ADAPT_SPEED = 4.0f;
@@ -18,6 +18,7 @@ import org.opennars.entity.BudgetValue;
 import org.opennars.entity.Task;
 import org.opennars.entity.TruthValue;
 import org.opennars.io.events.OutputHandler.EXE;
+import org.opennars.io.jfr.InferenceRecorder;
 import org.opennars.language.Product;
 import org.opennars.language.Statement;
 import org.opennars.language.Term;
@@ -77,7 +78,13 @@ public abstract class Operator extends Term implements Plugin {
     * @return true if successful, false if an error occurred
     */
     public final boolean call(final Operation operation, final Term[] args, final Memory memory) {
-        final List<Task> feedback = execute(operation, args, memory);
+        final Object recorded = InferenceRecorder.beginOperator();
+        final List<Task> feedback;
+        try {
+            feedback = execute(operation, args, memory);
+        } finally {
+            InferenceRecorder.endOperator(recorded, operation);
+        }
 
         if(feedback == null || feedback.isEmpty()) { //null operator case
             memory.executedTask(operation, new TruthValue(1f,executionConfidence));
@@ -47,9 +47,6 @@ public class Anticipate extends Operator implements EventObserver {
     final Set<Term> newTasks = new LinkedHashSet();
     DerivationContext nal;
  
-    final static TruthValue expiredTruth = new TruthValue(0.0f, Parameters.ANTICIPATION_CONFIDENCE);
-    final static BudgetValue expiredBudget = new BudgetValue(Parameters.DEFAULT_JUDGMENT_PRIORITY, Parameters.DEFAULT_JUDGMENT_DURABILITY, BudgetFunctions.truthToQuality(expiredTruth));
-    
     public Anticipate() {
         super("^anticipate");        
     }
@@ -176,7 +173,7 @@ public class Anticipate extends Operator implements EventObserver {
             return null; //not as mental operator but as fundamental principle
         }
         
-        anticipate(args[1],memory,memory.time()+Parameters.DURATION, null);
+        anticipate(args[1],memory,memory.time()+memory.narParameters.DURATION, null);
         
         return null;
     }
@@ -251,8 +248,8 @@ public class Anticipate extends Operator implements EventObserver {
 
     protected void deriveDidntHappen(final Term aTerm, final long expectedOccurenceTime) {
                 
-        final TruthValue truth = expiredTruth;
-        final BudgetValue budget = expiredBudget;
+        final TruthValue truth = new TruthValue(0.0f, nal.narParameters.ANTICIPATION_CONFIDENCE);
+        final BudgetValue budget = new BudgetValue(Parameters.DEFAULT_JUDGMENT_PRIORITY, Parameters.DEFAULT_JUDGMENT_DURABILITY, BudgetFunctions.truthToQuality(truth));
 
         final Stamp stamp = new Stamp(nal.memory);
         //stamp.setOccurrenceTime(nal.memory.time());
@@ -52,7 +52,7 @@ public class Abbreviation implements Plugin {
             super("^abbreviate");
         }
 
-        private static final PortableInteger currentTermSerial = new PortableInteger(1);
+        private final PortableInteger currentTermSerial = new PortableInteger(1);
 
         public Term newSerialTerm(final char prefix) {
             return new Term(prefix + String.valueOf(currentTermSerial.incrementAndGet()));
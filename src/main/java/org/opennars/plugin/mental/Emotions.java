@@ -64,6 +64,10 @@ public class Emotions implements Plugin {
     public long last_busy_time = 0;
     public final long change_steps_demanded = 1000;
     public void adjustSatisfaction(final float newValue, final float weight, final DerivationContext nal) {
+        if (nal.memory.isFiringInParallel()) { //applied in a fixed order once all concepts of the cycle are fired
+            nal.memory.afterFiring(() -> adjustSatisfaction(newValue, weight, nal));
+            return;
+        }
         
         //        float oldV = happyValue;
         happy += newValue * weight;
@@ -75,10 +79,10 @@ public class Emotions implements Plugin {
         
         float frequency=-1;
         if(Math.abs(happy-lasthappy) > CHANGE_THRESHOLD && nal.memory.time()-last_happy_time > change_steps_demanded) {
-            if(happy>Parameters.HAPPY_EVENT_HIGHER_THRESHOLD && lasthappy<=Parameters.HAPPY_EVENT_HIGHER_THRESHOLD) {
+            if(happy>nal.narParameters.HAPPY_EVENT_HIGHER_THRESHOLD && lasthappy<=nal.narParameters.HAPPY_EVENT_HIGHER_THRESHOLD) {
                 frequency=1.0f;
             }
-            if(happy<Parameters.HAPPY_EVENT_LOWER_THRESHOLD && lasthappy>=Parameters.HAPPY_EVENT_LOWER_THRESHOLD) {
+            if(happy<nal.narParameters.HAPPY_EVENT_LOWER_THRESHOLD && lasthappy>=nal.narParameters.HAPPY_EVENT_LOWER_THRESHOLD) {
                 frequency=0.0f;
             }
             lasthappy=happy;
@@ -94,7 +98,7 @@ public class Emotions implements Plugin {
             s.stamp.setOccurrenceTime(nal.memory.time());
             final Task t=new Task(s,new BudgetValue(Parameters.DEFAULT_JUDGMENT_PRIORITY,Parameters.DEFAULT_JUDGMENT_DURABILITY,BudgetFunctions.truthToQuality(truth)), true);
             nal.addTask(t, "emotion");
-            /*if(Parameters.REFLECT_META_HAPPY_GOAL) { //remind on the goal whenever happyness changes, should suffice for now
+            /*if(nal.narParameters.REFLECT_META_HAPPY_GOAL) { //remind on the goal whenever happyness changes, should suffice for now
                 TruthValue truth2=new TruthValue(1.0f,Parameters.DEFAULT_GOAL_CONFIDENCE);
                 Sentence s2=new Sentence(inh,Symbols.GOAL_MARK,truth2,new Stamp(nal.memory));
                 s2.stamp.setOccurrenceTime(nal.memory.time());
@@ -105,7 +109,7 @@ public class Emotions implements Plugin {
                 Operator remind=nal.memory.getOperator("^remind");
                 Term[] arg=new Term[1];
                 arg[0]=inh;
-                if(InternalExperience.enabled && Parameters.CONSIDER_REMIND) {
+                if(InternalExperience.enabled && nal.narParameters.CONSIDER_REMIND) {
                     Operation op_consider=Operation.make(consider, arg, true);
                     Operation op_remind=Operation.make(remind, arg, true);
                     Operation[] op=new Operation[2];
@@ -133,6 +137,10 @@ public class Emotions implements Plugin {
     public double lastbusy=0.5;
     public final double CHANGE_THRESHOLD = 0.25f;
     public void adjustBusy(final float newValue, final float weight, final DerivationContext nal) {
+        if (nal.memory.isFiringInParallel()) { //applied in a fixed order once all concepts of the cycle are fired
+            nal.memory.afterFiring(() -> adjustBusy(newValue, weight, nal));
+            return;
+        }
 
         busy += newValue * weight;
         busy /= (1.0f + weight);
@@ -143,10 +151,10 @@ public class Emotions implements Plugin {
         
         float frequency=-1;
         if(Math.abs(busy-lastbusy) > CHANGE_THRESHOLD && nal.memory.time()-last_busy_time > change_steps_demanded) {
-            if(busy>Parameters.BUSY_EVENT_HIGHER_THRESHOLD && lastbusy<=Parameters.BUSY_EVENT_HIGHER_THRESHOLD) {
+            if(busy>nal.narParameters.BUSY_EVENT_HIGHER_THRESHOLD && lastbusy<=nal.narParameters.BUSY_EVENT_HIGHER_THRESHOLD) {
                 frequency=1.0f;
             }
-            if(busy<Parameters.BUSY_EVENT_LOWER_THRESHOLD && lastbusy>=Parameters.BUSY_EVENT_LOWER_THRESHOLD) {
+            if(busy<nal.narParameters.BUSY_EVENT_LOWER_THRESHOLD && lastbusy>=nal.narParameters.BUSY_EVENT_LOWER_THRESHOLD) {
                 frequency=0.0f;
             }
             lastbusy=busy;
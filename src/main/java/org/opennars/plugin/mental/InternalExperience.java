@@ -98,8 +98,6 @@ public class InternalExperience implements Plugin, EventObserver {
         return false;
     }
     
-    public static boolean enabled=false;
-    
     @Override public boolean setEnabled(final Nar n, final boolean enable) {
         memory = n.memory;
         
@@ -108,7 +106,7 @@ public class InternalExperience implements Plugin, EventObserver {
         if (isFull())
             memory.event.set(this, enable, Events.BeliefReason.class);
         
-        enabled=enable;
+        memory.internalExperience = enable;
         
         return true;
     }
@@ -188,7 +186,7 @@ public class InternalExperience implements Plugin, EventObserver {
     }
 
     public static boolean InternalExperienceFromTaskInternal(final Memory memory, final Task task, final boolean full) {
-        if(!enabled) {
+        if(!memory.internalExperience) {
             return false;
         }
         
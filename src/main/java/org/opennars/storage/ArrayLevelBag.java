@@ -0,0 +1,443 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.storage;
+
+import org.opennars.entity.Item;
+import org.opennars.main.Parameters;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Level based Bag with the same selection policy as {@link LevelBag}, but
+ * which keeps its items in preallocated slots.
+ *
+ * Each level is a doubly linked FIFO threaded through primitive prev/next
+ * index arrays, and the key lookup is an open-addressing table of slot
+ * indices, so putIn/take/takeNext/putBack allocate nothing.
+ */
+public class ArrayLevelBag<E extends Item<K>,K> extends Bag<E,K> implements Serializable {
+
+    private static final int NONE = SlotIndex.NONE;
+
+    /**
+     * priority levels
+     */
+    public final int levels;
+    /**
+     * firing threshold
+     */
+    public final int fireCompleteLevelThreshold;
+
+    /**
+     * shared DISTRIBUTOR that produce the probability distribution
+     */
+    final Distributor distributor;
+    final short[] DISTRIBUTOR;
+    final int distributorLength;
+
+    /**
+     * defined in different bags
+     */
+    final int capacity;
+
+    /** item stored in each slot, null for free slots */
+    final E[] items;
+    /** mapping from key to slot */
+    final SlotIndex nameTable;
+    /** level each slot is filed under */
+    final int[] itemLevel;
+    /** intrusive links of the level queues; next also chains the free slots */
+    final int[] next, prev;
+
+    /** first and last slot of each level */
+    final int[] head, tail;
+    final int[] levelSize;
+    final boolean[] levelEmpty;
+    /** bitmap of the non-empty levels, bit l of word l/64 */
+    final long[] levelOccupied;
+
+    int freeSlot;
+    int size;
+
+    /**
+     * current sum of occupied level
+     */
+    private float mass;
+    /**
+     * index to get next level, kept in individual objects
+     */
+    int levelIndex;
+    /**
+     * current take out level
+     */
+    int currentLevel;
+    /**
+     * maximum number of items to be taken out at current level
+     */
+    int currentCounter;
+
+    public ArrayLevelBag(final int levels, final int capacity) {
+        this(levels, capacity, (int) (Parameters.BAG_THRESHOLD * levels));
+    }
+
+    /** thresholdLevel = 0 disables "fire level completely" threshold effect */
+    public ArrayLevelBag(final int levels, final int capacity, final int thresholdLevel) {
+        this.levels = levels;
+        this.fireCompleteLevelThreshold = thresholdLevel;
+        this.capacity = capacity;
+
+        items = (E[]) new Item[capacity];
+        nameTable = new SlotIndex(capacity);
+        itemLevel = new int[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+
+        head = new int[levels];
+        tail = new int[levels];
+        levelSize = new int[levels];
+        levelEmpty = new boolean[levels];
+        levelOccupied = new long[(levels + 63) / 64];
+
+        distributor = Distributor.get(this.levels);
+        DISTRIBUTOR = distributor.order;
+        distributorLength = DISTRIBUTOR.length;
+        clear();
+    }
+
+    @Override
+    public final void clear() {
+        Arrays.fill(items, null);
+        Arrays.fill(head, NONE);
+        Arrays.fill(tail, NONE);
+        Arrays.fill(levelSize, 0);
+        Arrays.fill(levelEmpty, true);
+        Arrays.fill(levelOccupied, 0);
+        nameTable.clear();
+        for (int i = 0; i < capacity; i++) {
+            next[i] = i + 1 < capacity ? i + 1 : NONE;
+        }
+        freeSlot = capacity > 0 ? 0 : NONE;
+        size = 0;
+        currentLevel = levels - 1;
+        levelIndex = capacity % levels; // so that different bags start at different point
+        mass = 0;
+        currentCounter = 0;
+    }
+
+    /**
+     * The number of items in the bag
+     *
+     * @return The number of items
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the average priority of Items
+     *
+     * @return The average priority of Items in the bag
+     */
+    @Override
+    public float getAveragePriority() {
+        if (size() == 0) {
+            return 0.01f;
+        }
+        return Math.min(mass / size(), 1.0f);
+    }
+
+    /**
+     * Get an Item by key
+     *
+     * @param key The key of the Item
+     * @return The Item with the given key
+     */
+    @Override
+    public E get(final K key) {
+        final int slot = nameTable.get(key);
+        return slot == NONE ? null : items[slot];
+    }
+
+    /** look for a non-empty level */
+    protected void nextNonEmptyLevel() {
+        final int index = distributor.nextIndexOf(levelIndex % distributorLength, levelOccupied);
+        levelIndex = index + 1;
+        currentLevel = DISTRIBUTOR[index];
+        if (currentLevel < fireCompleteLevelThreshold) { // for dormant levels, take one item
+            currentCounter = 1;
+        } else {                  // for active levels, take all current items
+            currentCounter = levelSize[currentLevel];
+        }
+    }
+
+    @Override
+    public E peekNext() {
+        if (size() == 0)
+            return null; // empty bag
+        final E e = takeNext();
+        putIn(e);
+        return e;
+    }
+
+    @Override
+    public E takeNext() {
+        if (size() == 0) {
+            return null; // empty bag
+        }
+        if (levelEmpty[currentLevel] || (currentCounter == 0)) { // done with the current level
+            nextNonEmptyLevel();
+        }
+        if (levelEmpty[currentLevel]) {
+            throw new IllegalStateException("Empty level selected for takeNext");
+        }
+        final E selected = takeOutFirst(currentLevel); // take out the first item in the level
+        currentCounter--;
+        return selected;
+    }
+
+    @Override public E take(final K name) {
+        final int slot = nameTable.get(name);
+        if (slot == NONE) {
+            return null;
+        }
+        final E oldItem = items[slot];
+        nameTable.remove(slot);
+        unlink(slot);
+        removeMass(oldItem);
+        return oldItem;
+    }
+
+    /**
+     * Decide the put-in level according to priority
+     *
+     * @param item The Item to put in
+     * @return The put-in level
+     */
+    private int getLevel(final E item) {
+        final float fl = item.getPriority() * levels;
+        final int level = (int) Math.ceil(fl) - 1;
+        if (level < 0) return 0;
+        if (level >= levels) return levels-1;
+        return level;
+    }
+
+    /**
+     * Insert an item into the itemTable, and return the overflow
+     *
+     * @param newItem The Item to put in
+     * @return null if nothing overflowed, non-null if an overflow Item, which
+     * may be the attempted input item (in which case it was not inserted)
+     */
+    @Override public E addItem(final E newItem) {
+        if (newItem == null) {
+            throw new IllegalStateException("Bag requires non-null items");
+        }
+        E oldItem = null;
+        final int inLevel = getLevel(newItem);
+        if (size() >= capacity) {      // the bag will be full after the next
+            int outLevel = 0;
+            while (levelEmpty[outLevel]) {
+                outLevel++;
+            }
+            if (outLevel > inLevel) {           // ignore the item and exit
+                return newItem;
+            } else {                            // remove an old item in the lowest non-empty level
+                oldItem = takeOutFirst(outLevel);
+            }
+        }
+
+        final int slot = freeSlot;
+        freeSlot = next[slot];
+        items[slot] = newItem;
+        link(slot, inLevel);                // FIFO
+        nameTable.put(slot, newItem.name());
+        addMass(newItem);
+        return oldItem;
+    }
+
+    /**
+     * Take out the first E in a level from the itemTable
+     *
+     * @param level The current level
+     * @return The first Item
+     */
+    private E takeOutFirst(final int level) {
+        final int slot = head[level];
+        if (slot == NONE) {
+            throw new IllegalStateException("Attempt to remove item from empty level: " + level);
+        }
+        final E selected = items[slot];
+        nameTable.remove(slot);
+        unlink(slot);
+        removeMass(selected);
+        return selected;
+    }
+
+    /** append a slot at the tail of a level queue */
+    private void link(final int slot, final int level) {
+        itemLevel[slot] = level;
+        next[slot] = NONE;
+        final int last = tail[level];
+        prev[slot] = last;
+        if (last == NONE) {
+            head[level] = slot;
+            levelEmpty[level] = false;
+            levelOccupied[level >> 6] |= 1L << level;
+        } else {
+            next[last] = slot;
+        }
+        tail[level] = slot;
+        levelSize[level]++;
+        size++;
+    }
+
+    /** detach a slot from its level queue and return it to the free list */
+    private void unlink(final int slot) {
+        final int level = itemLevel[slot];
+        final int p = prev[slot], n = next[slot];
+        if (p == NONE) {
+            head[level] = n;
+        } else {
+            next[p] = n;
+        }
+        if (n == NONE) {
+            tail[level] = p;
+        } else {
+            prev[n] = p;
+        }
+        if (--levelSize[level] == 0) {
+            levelEmpty[level] = true;
+            levelOccupied[level >> 6] &= ~(1L << level);
+        }
+        size--;
+
+        items[slot] = null;
+        next[slot] = freeSlot;
+        freeSlot = slot;
+    }
+
+    protected void removeMass(final E item) {
+        mass -= item.getPriority();
+    }
+    protected void addMass(final E item) {
+        mass += item.getPriority();
+    }
+
+    @Override
+    public float getMass() {
+        return mass;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getLevelSize(final int level) {
+        return levelSize[level];
+    }
+
+    public int numEmptyLevels() {
+        int empty = 0;
+        for (int i = 0; i < levels; i++) {
+            if (levelEmpty[i]) {
+                empty++;
+            }
+        }
+        return empty;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                final Iterator<E> i = ArrayLevelBag.this.iterator();
+                return new Iterator<K>() {
+                    @Override public boolean hasNext() { return i.hasNext(); }
+                    @Override public K next() { return i.next().name(); }
+                };
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                return nameTable.get(o) != NONE;
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Collection<E> values() {
+        return new AbstractCollection<E>() {
+            @Override
+            public Iterator<E> iterator() {
+                return ArrayLevelBag.this.iterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /** iterates the levels from highest to lowest, each in FIFO order */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            int l = levels - 1;
+            int slot = head[l];
+
+            {
+                advance();
+            }
+
+            private void advance() {
+                while (slot == NONE && l > 0) {
+                    slot = head[--l];
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot != NONE;
+            }
+
+            @Override
+            public E next() {
+                if (slot == NONE) {
+                    throw new NoSuchElementException();
+                }
+                final E e = items[slot];
+                slot = next[slot];
+                advance();
+                return e;
+            }
+        };
+    }
+}
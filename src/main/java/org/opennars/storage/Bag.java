@@ -20,8 +20,14 @@ import org.opennars.main.Parameters;
 
 import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class Bag<E extends Item<K>,K> implements Iterable<E> {
+
+    private static final AtomicInteger bags = new AtomicInteger();
+
+    /** identifies the bag in the lazy forgetting clocks of its items */
+    private final int id = bags.incrementAndGet();
     
     public static int bin(final float x, final int bins) {
         final int i = (int)Math.floor((x + 0.5f/bins) * bins);
@@ -104,6 +110,22 @@ public abstract class Bag<E extends Item<K>,K> implements Iterable<E> {
         
     }
 
+    /**
+     * Add a new Item into the Bag, starting its lazy forgetting clock in
+     * this bag at the current cycle if it was never put in before, so the
+     * first putBack decays it for the cycles it waited in the bag
+     *
+     * @param newItem The new Item
+     * @param m The memory giving the time, null if none
+     * @return the item which was removed, see putIn(E)
+     */
+    public E putIn(final E newItem, final Memory m) {
+        if (m != null && m.narParameters.LAZY_FORGETTING && newItem.lastForgotten(id) < 0) {
+            newItem.setLastForgotten(id, m.time());
+        }
+        return putIn(newItem);
+    }
+
     abstract public E take(final K key);
 
     public E take(final E value) {
@@ -151,13 +173,30 @@ public abstract class Bag<E extends Item<K>,K> implements Iterable<E> {
      * Put an item back into the itemTable
      * <p>
      * The only place where the forgetting rate is applied
+     * <p>
+     * With NarParameters.LAZY_FORGETTING the priority is decreased for the
+     * cycles elapsed since the item was last put back, so an item which is
+     * taken and put back again within the same cycle is not forgotten twice.
+     * The cycle is kept per bag, so putting an item back into one bag does
+     * not reset its forgetting in the other bags holding it.
      *
      * @param oldItem The Item to put back
      * @return the item which was removed, or null if none removed
      */    
     public E putBack(final E oldItem, final float forgetCycles, final Memory m) {
         final float relativeThreshold = Parameters.FORGET_QUALITY_RELATIVE;
-        BudgetFunctions.applyForgetting(oldItem.budget, getForgetCycles(forgetCycles, oldItem), relativeThreshold);
+        if (m != null && m.narParameters.LAZY_FORGETTING) {
+            final long now = m.time();
+            final long last = oldItem.lastForgotten(id);
+            final long elapsed = (last < 0 || last > now) ? 1 : now - last;
+            if (elapsed > 0) {
+                BudgetFunctions.applyForgetting(oldItem.budget, getForgetCycles(forgetCycles, oldItem), relativeThreshold, elapsed);
+                oldItem.setLastForgotten(id, now);
+            }
+        }
+        else {
+            BudgetFunctions.applyForgetting(oldItem.budget, getForgetCycles(forgetCycles, oldItem), relativeThreshold);
+        }
         return putIn(oldItem);
     }
     
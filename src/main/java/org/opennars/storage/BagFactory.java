@@ -0,0 +1,49 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.storage;
+
+import org.opennars.entity.Concept;
+import org.opennars.entity.Sentence;
+import org.opennars.entity.Task;
+import org.opennars.entity.TaskLink;
+import org.opennars.entity.TermLink;
+import org.opennars.language.Term;
+
+import java.io.Serializable;
+
+/**
+ * Creates the bags of a Nar, so the bag implementation and dimensions of
+ * each kind of bag can be chosen per instance, see NarParameters.BAG_FACTORY
+ */
+public interface BagFactory extends Serializable {
+
+    /** the concept bag of Memory */
+    Bag<Concept,Term> newConceptBag();
+
+    /** the buffer of new tasks with novel terms, for delayed processing */
+    Bag<Task<Term>,Sentence<Term>> newNovelTaskBag();
+
+    /** the bag of recent events, and of the events preceding an operation in its concept */
+    Bag<Task<Term>,Sentence<Term>> newSequenceBag();
+
+    /** the bag of recently executed operations */
+    Bag<Task<Term>,Sentence<Term>> newOperationBag();
+
+    /** the task-link bag of a concept */
+    Bag<TaskLink,Task> newTaskLinkBag();
+
+    /** the term-link bag of a concept */
+    Bag<TermLink,TermLink> newTermLinkBag();
+}
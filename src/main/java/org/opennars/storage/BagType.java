@@ -0,0 +1,49 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.storage;
+
+import org.opennars.entity.Item;
+
+/**
+ * Selectable Bag implementations
+ */
+public enum BagType {
+
+    /** {@link LevelBag}, levels are LinkedHashSet queues */
+    LEVEL {
+        @Override
+        public <E extends Item<K>,K> Bag<E,K> make(final int levels, final int capacity) {
+            return new LevelBag<>(levels, capacity);
+        }
+    },
+
+    /** {@link ArrayLevelBag}, same policy as LEVEL without allocation on take/put */
+    ARRAY_LEVEL {
+        @Override
+        public <E extends Item<K>,K> Bag<E,K> make(final int levels, final int capacity) {
+            return new ArrayLevelBag<>(levels, capacity);
+        }
+    },
+
+    /** {@link RouletteBag}, selection exactly proportional to priority, levels are ignored */
+    ROULETTE {
+        @Override
+        public <E extends Item<K>,K> Bag<E,K> make(final int levels, final int capacity) {
+            return new RouletteBag<>(capacity);
+        }
+    };
+
+    public abstract <E extends Item<K>,K> Bag<E,K> make(final int levels, final int capacity);
+}
@@ -0,0 +1,66 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.storage;
+
+import org.opennars.entity.Concept;
+import org.opennars.entity.Sentence;
+import org.opennars.entity.Task;
+import org.opennars.entity.TaskLink;
+import org.opennars.entity.TermLink;
+import org.opennars.language.Term;
+import org.opennars.main.NarParameters;
+
+/**
+ * BagFactory building each bag with the type, levels and size given in
+ * NarParameters, read at the time the bag is created
+ */
+public class DefaultBagFactory implements BagFactory {
+
+    final NarParameters p;
+
+    public DefaultBagFactory(final NarParameters p) {
+        this.p = p;
+    }
+
+    @Override
+    public Bag<Concept,Term> newConceptBag() {
+        return p.CONCEPT_BAG_TYPE.make(p.CONCEPT_BAG_LEVELS, p.CONCEPT_BAG_SIZE);
+    }
+
+    @Override
+    public Bag<Task<Term>,Sentence<Term>> newNovelTaskBag() {
+        return p.NOVEL_TASK_BAG_TYPE.make(p.NOVEL_TASK_BAG_LEVELS, p.NOVEL_TASK_BAG_SIZE);
+    }
+
+    @Override
+    public Bag<Task<Term>,Sentence<Term>> newSequenceBag() {
+        return p.SEQUENCE_BAG_TYPE.make(p.SEQUENCE_BAG_LEVELS, p.SEQUENCE_BAG_SIZE);
+    }
+
+    @Override
+    public Bag<Task<Term>,Sentence<Term>> newOperationBag() {
+        return p.OPERATION_BAG_TYPE.make(p.OPERATION_BAG_LEVELS, p.OPERATION_BAG_SIZE);
+    }
+
+    @Override
+    public Bag<TaskLink,Task> newTaskLinkBag() {
+        return p.TASK_LINK_BAG_TYPE.make(p.TASK_LINK_BAG_LEVELS, p.TASK_LINK_BAG_SIZE);
+    }
+
+    @Override
+    public Bag<TermLink,TermLink> newTermLinkBag() {
+        return p.TERM_LINK_BAG_TYPE.make(p.TERM_LINK_BAG_LEVELS, p.TERM_LINK_BAG_SIZE);
+    }
+}
@@ -14,6 +14,7 @@
  */
 package org.opennars.storage;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -21,15 +22,20 @@ import java.util.Map;
 /**
  * A pseudo-random number generator, used in Bag.
  */
-public final class Distributor {
+public final class Distributor implements Serializable {
 
     /** Shuffled sequence of index numbers */
     public final short order[];
     /** Capacity of the array */
     public final int capacity;
+    /** Ascending indices at which each number occurs in order */
+    final int[][] positions;
+
+    /** indices checked one by one before searching the occurrences of each number */
+    private static final int LINEAR_PROBE = 32;
 
     private final static Map<Integer,Distributor> distributors = new HashMap(8);
-    public static Distributor get(final int range) {
+    public static synchronized Distributor get(final int range) {
         Distributor d = distributors.get(range);
         if (d==null) {
             d = new Distributor(range);
@@ -60,6 +66,60 @@ public final class Distributor {
                 order[index] = (short)(rank - 1);
             }
         }
+
+        positions = new int[range][];
+        for (int n = 0; n < range; n++) {
+            positions[n] = new int[n + 1];
+        }
+        final int[] count = new int[range];
+        for (int i = 0; i < capacity; i++) {
+            final int n = order[i];
+            positions[n][count[n]++] = i;
+        }
+    }
+
+    /**
+     * Find the first index, starting at start and wrapping around, whose
+     * number is set in a bitmap.
+     *
+     * When most numbers are set the hit is a few indices away and found by
+     * probing; otherwise the nearest occurrence of each set number is looked
+     * up, so the cost depends on the numbers set and not on the gaps between them.
+     *
+     * @param start The index to start at
+     * @param set Bitmap of the numbers to look for, bit n of word n/64 for number n
+     * @return the index, or -1 if no number is set
+     */
+    public final int nextIndexOf(final int start, final long[] set) {
+        int index = start;
+        for (int i = 0; i < LINEAR_PROBE; i++) {
+            final short n = order[index];
+            if ((set[n >> 6] & (1L << n)) != 0) {
+                return index;
+            }
+            index = next(index);
+        }
+
+        int best = -1;
+        int bestDistance = capacity;
+        for (int w = 0; w < set.length; w++) {
+            long bits = set[w];
+            while (bits != 0) {
+                final int[] p = positions[(w << 6) + Long.numberOfTrailingZeros(bits)];
+                bits &= bits - 1;
+                int k = Arrays.binarySearch(p, start);
+                if (k < 0) {
+                    k = -k - 1;
+                }
+                final int pos = (k < p.length) ? p[k] : p[0];
+                final int distance = (pos >= start) ? (pos - start) : (pos + capacity - start);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = pos;
+                }
+            }
+        }
+        return best;
     }
 
     /**
@@ -38,6 +38,7 @@ public class LevelBag<E extends Item<K>,K> extends Bag<E,K> implements Serializa
     /**
      * shared DISTRIBUTOR that produce the probability distribution
      */
+    final Distributor distributor;
     final short[] DISTRIBUTOR;
 
     /**
@@ -72,6 +73,8 @@ public class LevelBag<E extends Item<K>,K> extends Bag<E,K> implements Serializa
      */
     int currentCounter;
     final boolean[] levelEmpty;
+    /** bitmap of the non-empty levels, bit l of word l/64 */
+    final long[] levelOccupied;
     
     
     public LevelBag(final int levels, final int capacity) {
@@ -88,7 +91,9 @@ public class LevelBag<E extends Item<K>,K> extends Bag<E,K> implements Serializa
         level = new Level[this.levels];
         levelEmpty = new boolean[this.levels];
         Arrays.fill(levelEmpty, true);
-        DISTRIBUTOR = Distributor.get(this.levels).order;
+        levelOccupied = new long[(this.levels + 63) / 64];
+        distributor = Distributor.get(this.levels);
+        DISTRIBUTOR = distributor.order;
         distributorLength = DISTRIBUTOR.length;        
         clear();
     }
@@ -115,6 +120,11 @@ public class LevelBag<E extends Item<K>,K> extends Bag<E,K> implements Serializa
         
         void levelIsEmpty(final boolean e) {
             levelEmpty[thisLevel] = e;
+            if (e) {
+                levelOccupied[thisLevel >> 6] &= ~(1L << thisLevel);
+            } else {
+                levelOccupied[thisLevel >> 6] |= 1L << thisLevel;
+            }
         }
         
         public void clear() {
@@ -166,6 +176,9 @@ public class LevelBag<E extends Item<K>,K> extends Bag<E,K> implements Serializa
     
     @Override
     public final void clear() {
+        for (final E item : nameTable.values()) {
+            unfile(item);
+        }
         for (int i = 0; i < levels; i++) {
             if (level[i] != null) {
                 level[i].clear();
@@ -238,19 +251,9 @@ public class LevelBag<E extends Item<K>,K> extends Bag<E,K> implements Serializa
     
     /** look for a non-empty level */
     protected void nextNonEmptyLevel() {
-        int cl = currentLevel;
-        
-        // we need to do this this way to avoid a overflow of levelIndex
-        do {
-            if( !levelEmpty[cl = DISTRIBUTOR[levelIndex % distributorLength]] ) {
-                levelIndex++;
-                break;
-            }
-
-            levelIndex = (levelIndex+1) % distributorLength;
-        } while (true);
-        
-        currentLevel = cl;  
+        final int index = distributor.nextIndexOf(levelIndex % distributorLength, levelOccupied);
+        levelIndex = index + 1;
+        currentLevel = DISTRIBUTOR[index];
         if (currentLevel < fireCompleteLevelThreshold) { // for dormant levels, take one item
             currentCounter = 1;
         } else {                  // for active levels, take all current items
@@ -303,8 +306,9 @@ public class LevelBag<E extends Item<K>,K> extends Bag<E,K> implements Serializa
         if (oldItem == null) {
             return null;
         }
-        final int expectedLevel = getLevel(oldItem);
-        //TODO scan up/down iteratively, it is likely to be near where it was
+        //the level recorded at insertion is exact unless the item was filed by another bag since
+        final int expectedLevel = (oldItem.filedIn == this) ? oldItem.filedLevel : getLevel(oldItem);
+        unfile(oldItem);
         if (!levelEmpty[expectedLevel]) {
             if (level[expectedLevel].remove(oldItem)) {                
                 removeMass(oldItem);
@@ -368,6 +372,8 @@ public class LevelBag<E extends Item<K>,K> extends Bag<E,K> implements Serializa
         }
         ensureLevelExists(inLevel);
         level[inLevel].add(newItem);        // FIFO
+        newItem.filedIn = this;
+        newItem.filedLevel = inLevel;
         nameTable.put(newItem.name(), newItem);        
         addMass(newItem);
         return oldItem;
@@ -389,6 +395,7 @@ public class LevelBag<E extends Item<K>,K> extends Bag<E,K> implements Serializa
         final E selected = this.level[level].removeFirst();
         if (selected!=null) {
             nameTable.remove(selected.name());
+            unfile(selected);
             removeMass(selected);
         }
         else {
@@ -397,6 +404,13 @@ public class LevelBag<E extends Item<K>,K> extends Bag<E,K> implements Serializa
         return selected;
     }
 
+    /** forget this bag in an item taken out, so that it does not keep the bag reachable */
+    private void unfile(final E item) {
+        if (item.filedIn == this) {
+            item.filedIn = null;
+        }
+    }
+
     protected void removeMass(final E item) {
         mass -= item.getPriority();
     }
@@ -15,6 +15,7 @@
 package org.opennars.storage;
 
 import org.opennars.control.concept.ProcessTask;
+import org.opennars.control.CycleTimes;
 import org.opennars.control.DerivationContext;
 import org.opennars.control.GeneralInferenceControl;
 import org.opennars.control.TemporalInferenceControl;
@@ -29,10 +30,14 @@ import org.opennars.io.events.Events.ResetStart;
 import org.opennars.io.events.Events.TaskRemove;
 import org.opennars.io.events.OutputHandler.IN;
 import org.opennars.io.events.OutputHandler.OUT;
+import org.opennars.io.jfr.InferenceRecorder;
+import org.opennars.io.metrics.Metrics;
+import org.opennars.io.metrics.RuleProfiler;
 import org.opennars.language.CompoundTerm;
 import org.opennars.language.Interval;
 import org.opennars.language.Tense;
 import org.opennars.language.Term;
+import org.opennars.language.TermInterner;
 import org.opennars.main.Nar;
 import org.opennars.main.Nar.PortableDouble;
 import org.opennars.main.Nar.RuntimeParameters;
@@ -44,6 +49,11 @@ import org.opennars.plugin.mental.Emotions;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.opennars.inference.BudgetFunctions.truthToQuality;
 
@@ -69,9 +79,23 @@ public class Memory implements Serializable, Iterable<Concept>, Resettable {
     public Task lastDecision = null;
     public boolean allowExecution = true;
 
+    /* Whether the InternalExperience plugin of this memory is enabled, set by the plugin */
+    public volatile boolean internalExperience = false;
+
     public static final long randomSeed = 1;
-    public static final Random randomNumber = new Random(randomSeed);
-    public static void resetStatic() {
+    /**
+     * The random numbers of all code, shared by the whole JVM. While a memory
+     * cycles it draws from the random of that memory, see cycle(), else
+     * (parsing, operator threads, bags used outside a cycle) from one global
+     * stream shared by all Nars.
+     */
+    public static final StreamRandom randomNumber = new StreamRandom(randomSeed);
+
+    /**
+     * Reseed the global stream of randomNumber, drawn from outside of cycles.
+     * The random of each memory is reseeded by its reset() instead.
+     */
+    public static void resetSharedRandom() {
         randomNumber.setSeed(randomSeed);    
     }
     
@@ -90,7 +114,16 @@ public class Memory implements Serializable, Iterable<Concept>, Resettable {
     public final Bag<Task<Term>,Sentence<Term>> recent_operations;
 
     /* List of new tasks accumulated in one cycle, to be processed in the next cycle */
-    public final Deque<Task> newTasks;
+    public final TaskQueue newTasks;
+
+    /* New tasks shed because newTasks was full, either dropped or put into novelTasks */
+    private final AtomicLong newTasksDropped = new AtomicLong();
+    private final AtomicLong newTasksDiverted = new AtomicLong();
+
+    /* Input tasks queued by any thread, taken at the start of the next cycle, see queueInput */
+    private final Queue<Task> inputQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inputQueueSize = new AtomicInteger();
+    private final AtomicInteger inputQueuePeak = new AtomicInteger();
     
     /* System clock, relatively defined to guarantee the repeatability of behaviors */
     private long cycle;
@@ -98,6 +131,25 @@ public class Memory implements Serializable, Iterable<Concept>, Resettable {
     /* System parameters that can be changed at runtime */
     public final RuntimeParameters param;
 
+    /* Parameters of the Nar owning this memory */
+    public final NarParameters narParameters;
+
+    /* Counters and histograms of the cycles, recorded when enabled */
+    public final Metrics metrics;
+
+    /* Time and derivations of each inference rule, recorded when enabled */
+    public final RuleProfiler ruleProfiler = new RuleProfiler();
+
+    /* Random numbers of this memory, used through randomNumber while it cycles */
+    public final StreamRandom random = new StreamRandom(randomSeed);
+
+    /* Events and new tasks of a thread firing a concept in parallel, replayed by the cycle thread, see ParallelInferenceControl */
+    private transient ThreadLocal<List<Runnable>> deferred;
+    /* Workers of ParallelInferenceControl, created on first use */
+    private transient ForkJoinPool inferencePool;
+    /* Concepts taken out of the bag to be fired in parallel, still found by concept() */
+    private final Map<Term,Concept> firing = new ConcurrentHashMap<>();
+
     //Boolean localInferenceMutex = false;
     
     /* ---------- Constructor ---------- */
@@ -106,18 +158,22 @@ public class Memory implements Serializable, Iterable<Concept>, Resettable {
      *
      * @param initialOperators - initial set of available operators; more may be added during runtime
      */
-    public Memory(final RuntimeParameters param, final Bag<Concept,Term> concepts, final Bag<Task<Term>,Sentence<Term>> novelTasks,
+    public Memory(final NarParameters narParameters, final RuntimeParameters param, final Bag<Concept,Term> concepts, final Bag<Task<Term>,Sentence<Term>> novelTasks,
                   final Bag<Task<Term>,Sentence<Term>> seq_current,
                   final Bag<Task<Term>,Sentence<Term>> recent_operations) {
 
+        this.narParameters = narParameters;
         this.param = param;
         this.event = new EventEmitter();
         this.concepts = concepts;
         this.novelTasks = novelTasks;                
-        this.newTasks = new ArrayDeque<>();
+        this.newTasks = new TaskQueue();
         this.recent_operations = recent_operations;
         this.seq_current = seq_current;
         this.operators = new HashMap<>();
+        this.metrics = new Metrics(this);
+        metrics.setEnabled(narParameters.METRICS);
+        ruleProfiler.setEnabled(narParameters.RULE_PROFILER);
         reset();
     }
     
@@ -131,11 +187,19 @@ public class Memory implements Serializable, Iterable<Concept>, Resettable {
         synchronized (newTasks) {
             newTasks.clear();
         }
+        while (inputQueue.poll() != null) {
+            inputQueueSize.decrementAndGet();
+        }
+        inputQueuePeak.set(0);
+        newTasksDropped.set(0);
+        newTasksDiverted.set(0);
+        metrics.reset();
+        ruleProfiler.reset();
         this.seq_current.clear();
         cycle = 0;
         emotion.resetEmotions();
         this.lastDecision = null;
-        resetStatic();
+        random.setSeed(randomSeed);
         event.emit(ResetEnd.class);
     }
 
@@ -148,13 +212,30 @@ public class Memory implements Serializable, Iterable<Concept>, Resettable {
      * Get an existing Concept for a given name
      * <p>
      * called from Term and ConceptWindow.
+     * <p>
+     * Not locked: the concept bag is only changed by the cycle thread, and
+     * while concepts are fired in parallel it is only read, see
+     * ParallelInferenceControl.
      *
      * @param t the name of a concept
      * @return a Concept or null
      */
     public Concept concept(final Term t) {
-        synchronized (concepts) {
-            return concepts.get(CompoundTerm.replaceIntervals(t));
+        final Term key = CompoundTerm.replaceIntervals(t);
+        final Concept c = concepts.get(key);
+        return (c == null && !firing.isEmpty()) ? firing.get(key) : c;
+    }
+
+    /**
+     * Register a concept as taken out of the bag to be fired, or unregister
+     * it before it is put back; registered concepts remain visible to
+     * {@link #concept} and {@link #conceptualize}
+     */
+    public void setFiring(final Concept c, final boolean isFiring) {
+        if (isFiring) {
+            firing.put(c.getTerm(), c);
+        } else {
+            firing.remove(c.getTerm());
         }
     }
 
@@ -176,12 +257,23 @@ public class Memory implements Serializable, Iterable<Concept>, Resettable {
         if(term instanceof Interval) {
             return null;
         }
-        term = CompoundTerm.replaceIntervals(term);
+        term = TermInterner.intern(CompoundTerm.replaceIntervals(term));
+        if (Parameters.DEBUG && isFiringInParallel()) {
+            throw new IllegalStateException("Concept bag changed while concepts are fired in parallel: " + term);
+        }
 
         final Concept displaced;
         Concept concept;
 
         synchronized (concepts) {
+            if (!firing.isEmpty()) {
+                concept = firing.get(term);
+                if (concept != null) {
+                    //being fired by another thread, which puts it back when done
+                    BudgetFunctions.activate(concept.budget, budget, BudgetFunctions.Activating.TaskLink);
+                    return concept;
+                }
+            }
             concept = concepts.take(term);
 
             //see if concept is active
@@ -222,15 +314,61 @@ public class Memory implements Serializable, Iterable<Concept>, Resettable {
     
     /* ---------- new task entries ---------- */
     /**
-     * add new task that waits to be processed in the next cycleMemory
+     * add new task that waits to be processed in the next cycleMemory,
+     * when NEW_TASKS_CAPACITY tasks are waiting the one of lowest priority
+     * is shed, which may be the new task, see TaskQueue
      */
     public void addNewTask(final Task t, final String reason) {
+        final List<Runnable> d = deferredOutput();
+        if (d != null) {
+            d.add(() -> addNewTask(t, reason));
+            return;
+        }
+        final Task shed;
         synchronized (newTasks) {
-            newTasks.add(t);
+            shed = newTasks.add(t, narParameters.NEW_TASKS_CAPACITY);
+        }
+        if (shed != t) {
+          //  logic.TASK_ADD_NEW.commit(t.getPriority());
+            emit(Events.TaskAdd.class, t, reason);
+            output(t);
         }
-      //  logic.TASK_ADD_NEW.commit(t.getPriority());
-        emit(Events.TaskAdd.class, t, reason);
-        output(t);
+        if (shed != null) {
+            if (putInNovelTasks(shed)) {
+                newTasksDiverted.incrementAndGet();
+            } else {
+                newTasksDropped.incrementAndGet();
+                removeTask(shed, "Overflow");
+            }
+        }
+    }
+
+    /** New tasks dropped because newTasks was full */
+    public long getNewTasksDropped() {
+        return newTasksDropped.get();
+    }
+
+    /** New tasks put into novelTasks instead of newTasks because it was full */
+    public long getNewTasksDiverted() {
+        return newTasksDiverted.get();
+    }
+
+    /**
+     * Put a judgment or goal expected enough to form a new concept into the novel task buffer
+     *
+     * @return whether the task was put in
+     */
+    private boolean putInNovelTasks(final Task task) {
+        final Sentence s = task.sentence;
+        if (s.isJudgment() || s.isGoal()) {
+            final double d = s.getTruth().getExpectation();
+            if ((s.isJudgment() && d > Parameters.DEFAULT_CREATION_EXPECTATION) ||
+                (s.isGoal() && d > Parameters.DEFAULT_CREATION_EXPECTATION_GOAL)) {
+                novelTasks.putIn(task, this);    // new concept formation
+                return true;
+            }
+        }
+        return false;
     }
     
     boolean checked=false;
@@ -266,7 +404,7 @@ public class Memory implements Serializable, Iterable<Concept>, Resettable {
             final Task task = t;
             final Stamp s = task.sentence.stamp;
             if (s.getCreationTime()==-1)
-                s.setCreationTime(time(), Parameters.DURATION);
+                s.setCreationTime(time(), narParameters.DURATION);
 
             if(emitIn) {
                 emit(IN.class, task);
@@ -286,6 +424,42 @@ public class Memory implements Serializable, Iterable<Concept>, Resettable {
         inputTask(t, true);
     }
 
+    /**
+     * Queue an input task to be input at the start of the next cycle, can be
+     * called by any number of threads without blocking
+     *
+     * @param t The input task
+     */
+    public void queueInput(final Task t) {
+        inputQueuePeak.accumulateAndGet(inputQueueSize.incrementAndGet(), Math::max);
+        inputQueue.offer(t);
+    }
+
+    /** Input tasks waiting in the input queue */
+    public int getInputQueueSize() {
+        return inputQueueSize.get();
+    }
+
+    /** Largest number of input tasks that waited in the input queue since the last reset */
+    public int getInputQueuePeak() {
+        return inputQueuePeak.get();
+    }
+
+    /**
+     * Input the tasks of the input queue, at most INPUT_TASKS_PER_CYCLE, the
+     * others wait for the next cycles
+     */
+    public void processInputQueue(final NarParameters narParameters) {
+        for (int i = 0; i < narParameters.INPUT_TASKS_PER_CYCLE; i++) {
+            final Task task = inputQueue.poll();
+            if (task == null) {
+                break;
+            }
+            inputQueueSize.decrementAndGet();
+            inputTask(task);
+        }
+    }
+
     public void removeTask(final Task task, final String reason) {        
         emit(TaskRemove.class, task, reason);
         task.end();        
@@ -327,9 +501,82 @@ public class Memory implements Serializable, Iterable<Concept>, Resettable {
     }
     
     final public void emit(final Class c, final Object... signal) {        
+        if (metrics.isEnabled()) {
+            metrics.event(c);
+        }
+        final List<Runnable> d = deferredOutput();
+        if (d != null) {
+            d.add(() -> event.emit(c, signal));
+            return;
+        }
         event.emit(c, signal);
     }
 
+    /** @return the buffer of the current thread if it is firing a concept in parallel, else null */
+    private List<Runnable> deferredOutput() {
+        return (deferred == null) ? null : deferred.get();
+    }
+
+    /** @return whether the current thread is firing a concept in parallel, see {@link #deferOutput} */
+    public boolean isFiringInParallel() {
+        return deferredOutput() != null;
+    }
+
+    /**
+     * Run an action which changes state shared by all concepts, or when
+     * called by a thread firing a concept in parallel, defer it until all
+     * concepts of the cycle are fired
+     */
+    public void afterFiring(final Runnable action) {
+        final List<Runnable> d = deferredOutput();
+        if (d != null) {
+            d.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Collect the events, new tasks and {@link #afterFiring} actions of the
+     * current thread into a buffer instead of running them, so that event
+     * observers and the newTasks queue are only touched by the thread
+     * running the cycle
+     *
+     * @param buffer the buffer, or null to stop deferring
+     */
+    public void deferOutput(final List<Runnable> buffer) {
+        if (deferred == null) {
+            synchronized (this) {
+                if (deferred == null) {
+                    deferred = new ThreadLocal<>();
+                }
+            }
+        }
+        if (buffer == null) {
+            deferred.remove();
+        } else {
+            deferred.set(buffer);
+        }
+    }
+
+    /** emit the events, add the new tasks and run the actions collected by {@link #deferOutput}, in the order they occurred */
+    public void replayOutput(final List<Runnable> buffer) {
+        for (final Runnable r : buffer) {
+            r.run();
+        }
+    }
+
+    /** the pool firing concepts in parallel, with the given number of threads */
+    public synchronized ForkJoinPool inferencePool(final int threads) {
+        if (inferencePool == null || inferencePool.getParallelism() != threads) {
+            if (inferencePool != null) {
+                inferencePool.shutdown();
+            }
+            inferencePool = new ForkJoinPool(threads);
+        }
+        return inferencePool;
+    }
+
     final public boolean emitting(final Class channel) {
         return event.isActive(channel);
     }
@@ -339,17 +586,58 @@ public class Memory implements Serializable, Iterable<Concept>, Resettable {
     }
     
     public void cycle(final Nar inputs) {
-    
-        event.emit(Events.CycleStart.class);
-        
-        this.processNewTasks(inputs.narParameters);
-    //if(noResult()) //newTasks empty
-        this.processNovelTask(inputs.narParameters);
-    //if(noResult()) //newTasks empty
-        GeneralInferenceControl.selectConceptForInference(this, inputs.narParameters);
-        
-        event.emit(Events.CycleEnd.class);
-        event.synch();
+        cycle(inputs, 0, null);
+    }
+
+    /**
+     * A cycle which fires concepts again and again until budgetNanos have
+     * passed since it started, or no concept is left
+     *
+     * @param budgetNanos wall-clock time of the cycle, 0 to fire concepts once
+     * @param times receives the time spent in each phase, or null
+     */
+    public void cycle(final Nar inputs, final long budgetNanos, final CycleTimes times) {
+        final StreamRandom previous = randomNumber.setStream(random);
+        try {
+            final Object recorded = InferenceRecorder.beginCycle();
+            final long start = System.nanoTime();
+            this.processInputQueue(inputs.narParameters);
+
+            event.emit(Events.CycleStart.class);
+
+            final long inputEnd = System.nanoTime();
+            this.processNewTasks(inputs.narParameters);
+            final long newTasksEnd = System.nanoTime();
+        //if(noResult()) //newTasks empty
+            this.processNovelTask(inputs.narParameters);
+            final long novelTaskEnd = System.nanoTime();
+        //if(noResult()) //newTasks empty
+            int fired = 0;
+            long now;
+            do {
+                GeneralInferenceControl.selectConceptForInference(this, inputs.narParameters);
+                fired++;
+                now = System.nanoTime();
+            } while (now - start < budgetNanos && concepts.size() > 0);
+
+            if (times != null) {
+                times.budget = budgetNanos;
+                times.input = inputEnd - start;
+                times.newTasks = newTasksEnd - inputEnd;
+                times.novelTasks = novelTaskEnd - newTasksEnd;
+                times.concepts = now - novelTaskEnd;
+                times.fired = fired;
+            }
+            if (metrics.isEnabled()) {
+                metrics.cycle(inputEnd - start, newTasksEnd - inputEnd, novelTaskEnd - newTasksEnd, now - novelTaskEnd);
+            }
+
+            event.emit(Events.CycleEnd.class);
+            event.synch();
+            InferenceRecorder.endCycle(recorded, cycle, fired, concepts.size());
+        } finally {
+            randomNumber.setStream(previous);
+        }
         
         cycle++;
     }
@@ -385,6 +673,9 @@ public class Memory implements Serializable, Iterable<Concept>, Resettable {
         synchronized (newTasks) {
             Task task;
             int counter = newTasks.size();  // don't include new tasks produced in the current workCycle
+            if (metrics.isEnabled()) {
+                metrics.tasksProcessed(counter);
+            }
             while (counter-- > 0) {
                 task = newTasks.removeFirst();
                 final boolean enterDirect = true;
@@ -392,18 +683,8 @@ public class Memory implements Serializable, Iterable<Concept>, Resettable {
                     localInference(task, narParameters);
                 } else {
                     final Sentence s = task.sentence;
-                    if (s.isJudgment() || s.isGoal()) {
-                        final double d = s.getTruth().getExpectation();
-                        if (s.isJudgment() && d > Parameters.DEFAULT_CREATION_EXPECTATION) {
-                            novelTasks.putIn(task);    // new concept formation
-                        } else
-                        if(s.isGoal() && d > Parameters.DEFAULT_CREATION_EXPECTATION_GOAL) {
-                            novelTasks.putIn(task);    // new concept formation
-                        }
-                        else
-                        {
-                            removeTask(task, "Neglected");
-                        }
+                    if ((s.isJudgment() || s.isGoal()) && !putInNovelTasks(task)) {
+                        removeTask(task, "Neglected");
                     }
                 }
             }
@@ -418,6 +699,9 @@ public class Memory implements Serializable, Iterable<Concept>, Resettable {
     public void processNovelTask(NarParameters narParameters) {
         final Task task = novelTasks.takeNext();
         if (task != null) {            
+            if (metrics.isEnabled()) {
+                metrics.tasksProcessed(1);
+            }
             localInference(task, narParameters);
         }
     }
@@ -436,13 +720,13 @@ public class Memory implements Serializable, Iterable<Concept>, Resettable {
      }
 
     private long currentStampSerial = 0;
-    public long newStampSerial() {
+    public synchronized long newStampSerial() {
         return currentStampSerial++;
     }   
 
     /** converts durations to cycles */
     public final float cycles(final PortableDouble durations) {
-        return Parameters.DURATION * durations.floatValue();
+        return narParameters.DURATION * durations.floatValue();
     }
 
     @Override
@@ -0,0 +1,322 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.storage;
+
+import org.opennars.entity.Item;
+import org.opennars.main.Parameters;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Bag which takes items out with probability exactly proportional to their
+ * priority, instead of quantising priorities into levels as {@link LevelBag}.
+ *
+ * Items are kept in slots, and a segment tree over the slot priorities holds
+ * the priority sum and the minimum of each subtree, so that roulette
+ * selection, insertion, removal and finding the item to displace when the
+ * bag is full are all O(log capacity).
+ */
+public class RouletteBag<E extends Item<K>,K> extends Bag<E,K> implements Serializable {
+
+    private static final int NONE = SlotIndex.NONE;
+
+    /**
+     * defined in different bags
+     */
+    final int capacity;
+
+    /** item stored in each slot, null for free slots */
+    final E[] items;
+    /** mapping from key to slot */
+    final SlotIndex nameTable;
+    /** chain of the free slots */
+    final int[] nextFree;
+    int freeSlot;
+    int size;
+
+    /** number of leaves of the tree, a power of 2; leaf of slot s is node leaves+s */
+    final int leaves;
+    /** priority sum of each node */
+    final double[] sum;
+    /** minimum priority of each node and the slot holding it */
+    final float[] min;
+    final int[] minSlot;
+
+    public RouletteBag(final int capacity) {
+        this.capacity = capacity;
+        items = (E[]) new Item[capacity];
+        nameTable = new SlotIndex(capacity);
+        nextFree = new int[capacity];
+
+        int n = 1;
+        while (n < capacity) {
+            n <<= 1;
+        }
+        leaves = n;
+        sum = new double[2 * n];
+        min = new float[2 * n];
+        minSlot = new int[2 * n];
+        clear();
+    }
+
+    @Override
+    public final void clear() {
+        Arrays.fill(items, null);
+        nameTable.clear();
+        for (int i = 0; i < capacity; i++) {
+            nextFree[i] = i + 1 < capacity ? i + 1 : NONE;
+        }
+        freeSlot = capacity > 0 ? 0 : NONE;
+        size = 0;
+        Arrays.fill(sum, 0);
+        Arrays.fill(min, Float.POSITIVE_INFINITY);
+        Arrays.fill(minSlot, NONE);
+    }
+
+    /**
+     * Weight of an item in the roulette, items of zero priority keep a
+     * minimal chance so that takeNext always finds one
+     */
+    private static float weight(final Item item) {
+        return Math.max(item.getPriority(), Parameters.BUDGET_EPSILON);
+    }
+
+    /** set the weight of a slot's leaf and recompute its ancestors */
+    private void update(final int slot, final float w, final boolean occupied) {
+        int i = leaves + slot;
+        sum[i] = occupied ? w : 0;
+        min[i] = occupied ? w : Float.POSITIVE_INFINITY;
+        minSlot[i] = occupied ? slot : NONE;
+        for (i >>= 1; i >= 1; i >>= 1) {
+            final int l = i << 1, r = l + 1;
+            sum[i] = sum[l] + sum[r];
+            if (min[l] <= min[r]) {
+                min[i] = min[l];
+                minSlot[i] = minSlot[l];
+            } else {
+                min[i] = min[r];
+                minSlot[i] = minSlot[r];
+            }
+        }
+    }
+
+    /** find the slot whose share of the priority sum contains x */
+    private int select(double x) {
+        int i = 1;
+        while (i < leaves) {
+            final int l = i << 1;
+            if (x < sum[l] || sum[l + 1] <= 0) {
+                i = l;
+            } else {
+                x -= sum[l];
+                i = l + 1;
+            }
+        }
+        return i - leaves;
+    }
+
+    /**
+     * The number of items in the bag
+     *
+     * @return The number of items
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public float getMass() {
+        return (float) sum[1];
+    }
+
+    /**
+     * Get the average priority of Items
+     *
+     * @return The average priority of Items in the bag
+     */
+    @Override
+    public float getAveragePriority() {
+        if (size() == 0) {
+            return 0.01f;
+        }
+        return Math.min(getMass() / size(), 1.0f);
+    }
+
+    /**
+     * Get an Item by key
+     *
+     * @param key The key of the Item
+     * @return The Item with the given key
+     */
+    @Override
+    public E get(final K key) {
+        final int slot = nameTable.get(key);
+        return slot == NONE ? null : items[slot];
+    }
+
+    @Override
+    public E peekNext() {
+        if (size() == 0)
+            return null; // empty bag
+        final E e = takeNext();
+        putIn(e);
+        return e;
+    }
+
+    @Override
+    public E takeNext() {
+        if (size() == 0) {
+            return null; // empty bag
+        }
+        final int slot = select(Memory.randomNumber.nextDouble() * sum[1]);
+        return takeOut(slot);
+    }
+
+    @Override
+    public E take(final K name) {
+        final int slot = nameTable.get(name);
+        if (slot == NONE) {
+            return null;
+        }
+        return takeOut(slot);
+    }
+
+    /**
+     * Insert an item into the itemTable, and return the overflow
+     *
+     * @param newItem The Item to put in
+     * @return null if nothing overflowed, non-null if an overflow Item, which
+     * may be the attempted input item (in which case it was not inserted)
+     */
+    @Override
+    protected E addItem(final E newItem) {
+        if (newItem == null) {
+            throw new IllegalStateException("Bag requires non-null items");
+        }
+        final float w = weight(newItem);
+        E oldItem = null;
+        if (size() >= capacity) {
+            if (min[1] > w) {                   // ignore the item and exit
+                return newItem;
+            }
+            oldItem = takeOut(minSlot[1]);      // remove the lowest priority item
+        }
+
+        final int slot = freeSlot;
+        freeSlot = nextFree[slot];
+        items[slot] = newItem;
+        nameTable.put(slot, newItem.name());
+        update(slot, w, true);
+        size++;
+        return oldItem;
+    }
+
+    private E takeOut(final int slot) {
+        final E selected = items[slot];
+        if (selected == null) {
+            throw new IllegalStateException("Attempt to remove item from empty slot: " + slot);
+        }
+        nameTable.remove(slot);
+        update(slot, 0, false);
+        items[slot] = null;
+        nextFree[slot] = freeSlot;
+        freeSlot = slot;
+        size--;
+        return selected;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                final Iterator<E> i = RouletteBag.this.iterator();
+                return new Iterator<K>() {
+                    @Override public boolean hasNext() { return i.hasNext(); }
+                    @Override public K next() { return i.next().name(); }
+                };
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                return nameTable.get(o) != NONE;
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Collection<E> values() {
+        return new AbstractCollection<E>() {
+            @Override
+            public Iterator<E> iterator() {
+                return RouletteBag.this.iterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /** iterates all items in descending priority */
+    @Override
+    public Iterator<E> iterator() {
+        //non-negative floats order like their bits, so sort (weight, slot) pairs packed into longs
+        final long[] order = new long[size];
+        int k = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (items[slot] != null) {
+                order[k++] = ((long) Float.floatToIntBits((float) sum[leaves + slot]) << 32) | slot;
+            }
+        }
+        Arrays.sort(order);
+
+        return new Iterator<E>() {
+            int i = order.length - 1;
+
+            @Override
+            public boolean hasNext() {
+                return i >= 0;
+            }
+
+            @Override
+            public E next() {
+                if (i < 0) {
+                    throw new NoSuchElementException();
+                }
+                return items[(int) order[i--]];
+            }
+        };
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.storage;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Map from item keys to the slots of an array based bag.
+ *
+ * Open addressing with linear probing over a table of slot numbers, so
+ * lookups, insertions and removals allocate nothing.
+ */
+final class SlotIndex implements Serializable {
+
+    static final int NONE = -1;
+
+    /** key and hash of each slot */
+    private final Object[] keys;
+    private final int[] hashes;
+
+    /** stores slot+1 so that 0 marks an empty entry */
+    private final int[] table;
+    private final int mask;
+
+    SlotIndex(final int slots) {
+        keys = new Object[slots];
+        hashes = new int[slots];
+        int tableSize = 2;
+        while (tableSize < slots * 2) {
+            tableSize <<= 1;
+        }
+        table = new int[tableSize];
+        mask = tableSize - 1;
+    }
+
+    void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(table, 0);
+    }
+
+    private static int hash(final Object key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /** @return the slot of the key, or NONE */
+    int get(final Object key) {
+        final int h = hash(key);
+        int i = h & mask;
+        int e;
+        while ((e = table[i]) != 0) {
+            final int slot = e - 1;
+            if (hashes[slot] == h && keys[slot].equals(key)) {
+                return slot;
+            }
+            i = (i + 1) & mask;
+        }
+        return NONE;
+    }
+
+    /** index a free slot under a key which is not indexed yet */
+    void put(final int slot, final Object key) {
+        final int h = hash(key);
+        keys[slot] = key;
+        hashes[slot] = h;
+        int i = h & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot + 1;
+    }
+
+    /** remove an indexed slot, shifting back later entries of its probe sequence so no tombstones are needed */
+    void remove(final int slot) {
+        int i = hashes[slot] & mask;
+        while (table[i] != slot + 1) {
+            i = (i + 1) & mask;
+        }
+        keys[slot] = null;
+
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            final int e = table[j];
+            if (e == 0) {
+                break;
+            }
+            final int k = hashes[e - 1] & mask;
+            final boolean stays = (i <= j) ? ((i < k) && (k <= j)) : ((i < k) || (k <= j));
+            if (!stays) {
+                table[i] = e;
+                i = j;
+            }
+        }
+        table[i] = 0;
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.storage;
+
+import java.util.Random;
+
+/**
+ * Random which draws its numbers from a separate stream on threads that
+ * were given one, so that each Memory cycling on a thread and each group of
+ * concepts fired in parallel see their own reproducible sequence while all
+ * code keeps using the same instance.
+ */
+public class StreamRandom extends Random {
+
+    private transient ThreadLocal<StreamRandom> streams;
+
+    public StreamRandom(final long seed) {
+        super(seed);
+    }
+
+    /**
+     * Use another stream on the current thread
+     *
+     * @param stream the stream, or null to use this one again
+     * @return the stream used before, null if it was this one
+     */
+    public StreamRandom setStream(final StreamRandom stream) {
+        if (streams == null) {
+            synchronized (this) {
+                if (streams == null) {
+                    streams = new ThreadLocal<>();
+                }
+            }
+        }
+        final StreamRandom previous = streams.get();
+        if (stream == null) {
+            streams.remove();
+        } else {
+            streams.set(stream);
+        }
+        return previous;
+    }
+
+    @Override
+    protected int next(final int bits) {
+        if (streams != null) {
+            final StreamRandom stream = streams.get();
+            if (stream != null) {
+                return stream.next(bits);
+            }
+        }
+        return super.next(bits);
+    }
+}
@@ -0,0 +1,226 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.storage;
+
+import org.opennars.entity.Task;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * First-in first-out queue of tasks of a bounded size, which sheds the task
+ * of lowest priority when full.
+ * <p>
+ * The tasks are linked in their order of arrival and also kept in a
+ * min-heap by the priority they had when added, earlier tasks first among
+ * equal priorities, so adding, shedding and taking the first task cost
+ * O(log n) however full the queue is. Not synchronized.
+ */
+public class TaskQueue implements Iterable<Task>, Serializable {
+
+    private static final class Entry {
+        final Task task;
+        final float priority;
+        final long serial;
+        Entry prev, next;
+        /** position in the heap */
+        int index;
+
+        Entry(final Task task, final long serial) {
+            this.task = task;
+            this.priority = task.getPriority();
+            this.serial = serial;
+        }
+
+        boolean lower(final Entry e) {
+            return priority < e.priority || (priority == e.priority && serial < e.serial);
+        }
+    }
+
+    private transient Entry first, last;
+    private transient Entry[] heap = new Entry[16];
+    private transient int size;
+    private transient long serial;
+
+    /**
+     * Add a task at the end of the queue. When capacity tasks are waiting
+     * already, the one of lowest priority is shed: the new task itself if
+     * no waiting one is lower.
+     *
+     * @param t The task
+     * @param capacity The number of tasks which can wait
+     * @return The task shed, which may be t, or null if none
+     */
+    public Task add(final Task t, final int capacity) {
+        Task shed = null;
+        if (size >= capacity) {
+            if (size == 0 || t.getPriority() <= heap[0].priority) {
+                return t;
+            }
+            shed = heap[0].task;
+            remove(heap[0]);
+        }
+        final Entry e = new Entry(t, serial++);
+        if (last == null) {
+            first = e;
+        } else {
+            last.next = e;
+            e.prev = last;
+        }
+        last = e;
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        e.index = size;
+        heap[size++] = e;
+        up(e.index);
+        return shed;
+    }
+
+    /**
+     * Take out the task waiting the longest
+     *
+     * @return The task
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public Task removeFirst() {
+        if (first == null) {
+            throw new NoSuchElementException();
+        }
+        final Entry e = first;
+        remove(e);
+        return e.task;
+    }
+
+    private void remove(final Entry e) {
+        if (e.prev == null) {
+            first = e.next;
+        } else {
+            e.prev.next = e.next;
+        }
+        if (e.next == null) {
+            last = e.prev;
+        } else {
+            e.next.prev = e.prev;
+        }
+        final int i = e.index;
+        final Entry moved = heap[--size];
+        heap[size] = null;
+        if (moved != e) {
+            moved.index = i;
+            heap[i] = moved;
+            up(i);
+            down(moved.index);
+        }
+    }
+
+    private void up(int i) {
+        final Entry e = heap[i];
+        while (i > 0) {
+            final int parent = (i - 1) >>> 1;
+            final Entry p = heap[parent];
+            if (!e.lower(p)) {
+                break;
+            }
+            p.index = i;
+            heap[i] = p;
+            i = parent;
+        }
+        e.index = i;
+        heap[i] = e;
+    }
+
+    private void down(int i) {
+        final Entry e = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].lower(heap[child])) {
+                child++;
+            }
+            final Entry c = heap[child];
+            if (!c.lower(e)) {
+                break;
+            }
+            c.index = i;
+            heap[i] = c;
+            i = child;
+        }
+        e.index = i;
+        heap[i] = e;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(heap, 0, size, null);
+        first = last = null;
+        size = 0;
+    }
+
+    /** iterates the tasks in their order of arrival */
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<Task>() {
+            Entry next = first;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Task next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                final Task t = next.task;
+                next = next.next;
+                return t;
+            }
+        };
+    }
+
+    /** the tasks in order, not the links, which would be written recursively */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (Entry e = first; e != null; e = e.next) {
+            out.writeObject(e.task);
+        }
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        heap = new Entry[16];
+        final int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            add((Task) in.readObject(), Integer.MAX_VALUE);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.storage;
+
+import org.opennars.io.Symbols;
+import org.opennars.io.Symbols.NativeOperator;
+import org.opennars.language.CompoundTerm;
+import org.opennars.language.Image;
+import org.opennars.language.Term;
+import org.opennars.language.Variable;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Discrimination tree of values by terms, to find the values whose terms
+ * may unify with a term on query variables without trying them all.
+ * <p>
+ * A term is indexed by the sequence of its symbols in preorder: the
+ * operator and size of each compound, the name of each atom and the type
+ * of each other variable. Query variables are wildcards standing for a
+ * whole subterm, in the indexed terms as well as in the searched one.
+ * The components of commutative compounds are not indexed, as they are
+ * unified in any order. Equal sequences are necessary for unification, so
+ * the values found are a superset of those whose terms unify.
+ */
+public class TermIndex<V> implements Serializable {
+
+    /** a query variable */
+    private static final Object WILDCARD = '?';
+
+    /** operator and size of a compound */
+    private static final class Functor implements Serializable {
+        final NativeOperator operator;
+        final int size;
+        final int relationIndex;
+        /** number of the components indexed after it */
+        final int arity;
+
+        Functor(final NativeOperator operator, final int size, final int relationIndex, final boolean commutative) {
+            this.operator = operator;
+            this.size = size;
+            this.relationIndex = relationIndex;
+            this.arity = commutative ? 0 : size;
+        }
+
+        @Override
+        public boolean equals(final Object that) {
+            if (!(that instanceof Functor)) {
+                return false;
+            }
+            final Functor f = (Functor) that;
+            return operator == f.operator && size == f.size && relationIndex == f.relationIndex && arity == f.arity;
+        }
+
+        @Override
+        public int hashCode() {
+            return (operator.ordinal() * 31 + size) * 31 + relationIndex;
+        }
+
+        private static final int SMALL = 8;
+        private static final Functor[] functors = new Functor[NativeOperator.values().length * (SMALL + 1) * SMALL * 2];
+
+        /** the functor of a compound, the same instance for small ones */
+        static Functor of(final CompoundTerm c) {
+            final int size = c.size();
+            final int relationIndex = c instanceof Image ? ((Image) c).relationIndex : -1;
+            final boolean commutative = c.isCommutative();
+            if (size >= SMALL || relationIndex >= SMALL) {
+                return new Functor(c.operator(), size, relationIndex, commutative);
+            }
+            final int i = ((c.operator().ordinal() * (SMALL + 1) + relationIndex + 1) * SMALL + size) * 2 + (commutative ? 1 : 0);
+            Functor f = functors[i];
+            if (f == null) {
+                functors[i] = f = new Functor(c.operator(), size, relationIndex, commutative);
+            }
+            return f;
+        }
+    }
+
+    private static final class Node<V> implements Serializable {
+        Map<Object, Node<V>> children;
+        List<V> values;
+
+        boolean isEmpty() {
+            return (children == null || children.isEmpty()) && (values == null || values.isEmpty());
+        }
+    }
+
+    private Node<V> root;
+    private int size;
+    /** reused for each term looked up */
+    private transient Path path;
+
+    /** the symbols of a term, with the end of the subterm starting at each */
+    private static final class Path {
+        Object[] keys = new Object[16];
+        int[] ends = new int[16];
+        int length;
+
+        void add(final Term t) {
+            final int i = length++;
+            if (i == keys.length) {
+                keys = Arrays.copyOf(keys, i * 2);
+                ends = Arrays.copyOf(ends, i * 2);
+            }
+            if (t instanceof Variable) {
+                final char type = ((Variable) t).getType();
+                keys[i] = type == Symbols.VAR_QUERY ? WILDCARD : (Object) type;
+            } else if (t instanceof CompoundTerm) {
+                final CompoundTerm c = (CompoundTerm) t;
+                final Functor f = Functor.of(c);
+                keys[i] = f;
+                for (int k = 0; k < f.arity; k++) {
+                    add(c.term[k]);
+                }
+            } else {
+                keys[i] = t.name().toString();
+            }
+            ends[i] = length;
+        }
+    }
+
+    private Path path(final Term t) {
+        if (path == null) {
+            path = new Path();
+        }
+        path.length = 0;
+        path.add(t);
+        return path;
+    }
+
+    private static int arity(final Object key) {
+        return key instanceof Functor ? ((Functor) key).arity : 0;
+    }
+
+    public void put(final Term t, final V value) {
+        final Path s = path(t);
+        if (root == null) {
+            root = new Node<>();
+        }
+        Node<V> node = root;
+        for (int i = 0; i < s.length; i++) {
+            if (node.children == null) {
+                node.children = new HashMap<>(4);
+            }
+            node = node.children.computeIfAbsent(s.keys[i], k -> new Node<>());
+        }
+        if (node.values == null) {
+            node.values = new ArrayList<>(1);
+        }
+        node.values.add(value);
+        size++;
+    }
+
+    /**
+     * Remove a value put with a term
+     *
+     * @return whether it was there
+     */
+    public boolean remove(final Term t, final V value) {
+        if (root == null) {
+            return false;
+        }
+        final boolean removed = remove(root, path(t), 0, value);
+        if (removed) {
+            size--;
+        }
+        return removed;
+    }
+
+    private boolean remove(final Node<V> node, final Path s, final int i, final V value) {
+        if (i == s.length) {
+            if (node.values == null) {
+                return false;
+            }
+            for (int k = 0; k < node.values.size(); k++) {
+                if (node.values.get(k) == value) {
+                    node.values.remove(k);
+                    return true;
+                }
+            }
+            return false;
+        }
+        final Node<V> child = node.children == null ? null : node.children.get(s.keys[i]);
+        if (child == null || !remove(child, s, i + 1, value)) {
+            return false;
+        }
+        if (child.isEmpty()) {
+            node.children.remove(s.keys[i]);
+        }
+        return true;
+    }
+
+    /**
+     * Add the values of the terms which may unify with a term on query variables
+     *
+     * @param t the term
+     * @param result where to add them
+     */
+    public void unifiable(final Term t, final Collection<V> result) {
+        if (root != null) {
+            find(root, path(t), 0, result);
+        }
+    }
+
+    private void find(final Node<V> node, final Path s, final int i, final Collection<V> result) {
+        if (i == s.length) {
+            if (node.values != null) {
+                result.addAll(node.values);
+            }
+            return;
+        }
+        if (node.children == null) {
+            return;
+        }
+        final Object key = s.keys[i];
+        if (key == WILDCARD) {
+            skip(node, 1, s, i + 1, result);
+            return;
+        }
+        final Node<V> child = node.children.get(key);
+        if (child != null) {
+            find(child, s, i + 1, result);
+        }
+        final Node<V> wildcard = node.children.get(WILDCARD);
+        if (wildcard != null) {
+            find(wildcard, s, s.ends[i], result);
+        }
+    }
+
+    /** skip the given number of indexed subterms, then go on with the symbol i */
+    private void skip(final Node<V> node, final int subterms, final Path s, final int i, final Collection<V> result) {
+        if (subterms == 0) {
+            find(node, s, i, result);
+            return;
+        }
+        if (node.children == null) {
+            return;
+        }
+        for (final Map.Entry<Object, Node<V>> e : node.children.entrySet()) {
+            skip(e.getValue(), subterms - 1 + arity(e.getKey()), s, i, result);
+        }
+    }
+
+    /** number of values */
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.core;
+
+import org.junit.Test;
+import org.opennars.control.CycleTimes;
+import org.opennars.main.Nar;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CycleBudgetTest {
+
+    /** a cycle with a budget keeps firing concepts until the budget is used, and is still one cycle */
+    @Test
+    public void testBudget() {
+        final Nar n = new Nar();
+        n.addInput("<a --> b>.");
+        n.addInput("<b --> c>.");
+        n.addInput("<c --> d>.");
+        n.cycles(10); //so that loading and initializing the classes is not part of the budget
+        final long budget = TimeUnit.MILLISECONDS.toNanos(20);
+        final CycleTimes times = n.cycle(budget);
+
+        assertEquals(11, n.time());
+        assertTrue(times.fired > 1);
+        assertTrue(times.total() >= budget);
+        assertTrue(times.concepts > 0);
+        assertTrue(times.budgetUsed() >= 1.0);
+    }
+
+    /** without a budget concepts are fired once per cycle */
+    @Test
+    public void testNoBudget() {
+        final Nar n = new Nar();
+        n.addInput("<a --> b>.");
+        final CycleTimes times = n.cycle(0);
+        assertEquals(1, times.fired);
+        assertEquals(0, times.budgetUsed(), 0);
+    }
+
+    @Test
+    public void testStartBudgeted() throws InterruptedException {
+        final Nar n = new Nar();
+        n.addInput("<a --> b>.");
+        n.startBudgeted(5);
+        try {
+            while (n.getLastCycleTimes() == null) {
+                Thread.sleep(5);
+            }
+        } finally {
+            n.stop();
+        }
+        assertEquals(5, n.getCycleBudgetMS());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(5), n.getLastCycleTimes().budget);
+    }
+}
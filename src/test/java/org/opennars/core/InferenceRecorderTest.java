@@ -0,0 +1,123 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.core;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+import org.opennars.io.jfr.InferenceRecorder;
+import org.opennars.main.Nar;
+import org.opennars.main.NarParameters;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class InferenceRecorderTest {
+
+    private static final String[] EVENTS = {
+        "org.opennars.Cycle", "org.opennars.ConceptFire", "org.opennars.Rule",
+        "org.opennars.Derivation", "org.opennars.Operator"
+    };
+
+    @Test
+    public void testEventsRecorded() throws Exception {
+        assumeTrue(InferenceRecorder.AVAILABLE);
+        final Nar n = new Nar();
+        final Map<String,Integer> counts = new HashMap<>();
+        final File file = File.createTempFile("opennars", ".jfr");
+        try (final Recording recording = new Recording()) {
+            for (final String event : EVENTS) {
+                recording.enable(event);
+            }
+            recording.start();
+            n.addInput("<a --> b>.");
+            n.addInput("<b --> c>.");
+            n.addInput("(^say,{SELF},hello)! :|:");
+            n.cycles(50);
+            recording.stop();
+            recording.dump(file.toPath());
+
+            final Path path = file.toPath();
+            for (final RecordedEvent e : RecordingFile.readAllEvents(path)) {
+                final String name = e.getEventType().getName();
+                counts.merge(name, 1, Integer::sum);
+                if (!name.equals("org.opennars.Cycle")) {
+                    assertTrue(e.getInt("complexity") > 0);
+                    assertTrue(e.getString("term").length() > 0);
+                }
+                if (name.equals("org.opennars.Operator")) {
+                    assertEquals("^say", e.getString("operator"));
+                }
+            }
+        } finally {
+            file.delete();
+        }
+        assertEquals(50, (int) counts.get("org.opennars.Cycle"));
+        for (final String event : EVENTS) {
+            assertTrue(event, counts.getOrDefault(event, 0) > 0);
+        }
+    }
+
+    private static int conceptFires(final Nar n) throws Exception {
+        int fires = 0;
+        final File file = File.createTempFile("opennars", ".jfr");
+        try (final Recording recording = new Recording()) {
+            recording.enable("org.opennars.ConceptFire");
+            recording.start();
+            n.addInput("<a --> b>.");
+            n.addInput("<b --> c>.");
+            n.addInput("<c --> d>.");
+            n.cycles(50);
+            recording.stop();
+            recording.dump(file.toPath());
+            for (final RecordedEvent e : RecordingFile.readAllEvents(file.toPath())) {
+                if (e.getEventType().getName().equals("org.opennars.ConceptFire")) {
+                    assertTrue(e.getString("term").length() > 0);
+                    fires++;
+                }
+            }
+        } finally {
+            file.delete();
+        }
+        return fires;
+    }
+
+    /** concepts fired in parallel are recorded too, in both modes */
+    @Test
+    public void testParallelConceptFire() throws Exception {
+        assumeTrue(InferenceRecorder.AVAILABLE);
+        for (final boolean deterministic : new boolean[] { true, false }) {
+            final NarParameters p = new NarParameters();
+            p.INFERENCE_THREADS = 2;
+            p.CONCEPTS_FIRED_PER_CYCLE = 4;
+            p.DETERMINISTIC_INFERENCE = deterministic;
+            assertTrue(conceptFires(new Nar(p)) > 50);
+        }
+    }
+
+    /** without a recording nothing is created */
+    @Test
+    public void testDisabled() {
+        assertEquals(null, InferenceRecorder.beginCycle());
+        assertEquals(null, InferenceRecorder.beginRule());
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.core;
+
+import org.junit.Test;
+import org.opennars.entity.Task;
+import org.opennars.io.events.Events.TaskRemove;
+import org.opennars.io.events.OutputHandler.IN;
+import org.opennars.main.Nar;
+import org.opennars.main.NarParameters;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InputQueueTest {
+
+    /** input added by several threads at once is all queued, and input by the next cycle */
+    @Test
+    public void testConcurrentProducers() throws InterruptedException {
+        final Nar n = new Nar();
+        final AtomicInteger in = new AtomicInteger();
+        n.on(IN.class, (event, args) -> in.incrementAndGet());
+
+        final List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int k = t;
+            producers.add(new Thread(() -> {
+                for (int i = 0; i < 50; i++) {
+                    n.addInput("<a" + k + "_" + i + " --> b>.");
+                }
+            }));
+        }
+        for (final Thread p : producers) {
+            p.start();
+        }
+        for (final Thread p : producers) {
+            p.join();
+        }
+        assertEquals(200, n.memory.getInputQueueSize());
+        assertEquals(0, in.get());
+
+        n.cycle();
+        assertEquals(200, in.get());
+        assertEquals(0, n.memory.getInputQueueSize());
+        assertEquals(200, n.memory.getInputQueuePeak());
+    }
+
+    /** no more than INPUT_TASKS_PER_CYCLE tasks are input per cycle */
+    @Test
+    public void testIntakeLimit() {
+        final NarParameters p = new NarParameters();
+        p.INPUT_TASKS_PER_CYCLE = 3;
+        final Nar n = new Nar(p);
+        for (int i = 0; i < 10; i++) {
+            n.addInput("<a" + i + " --> b>.");
+        }
+        n.cycle();
+        assertEquals(7, n.memory.getInputQueueSize());
+        n.cycles(3);
+        assertEquals(0, n.memory.getInputQueueSize());
+        assertEquals(10, n.memory.getInputQueuePeak());
+    }
+
+    /** beyond NEW_TASKS_CAPACITY the tasks of lowest priority are put into novelTasks or dropped */
+    @Test
+    public void testNewTasksShed() {
+        final NarParameters p = new NarParameters();
+        p.NEW_TASKS_CAPACITY = 5;
+        final Nar n = new Nar(p);
+        final AtomicInteger overflow = new AtomicInteger();
+        n.on(TaskRemove.class, (event, args) -> {
+            if ("Overflow".equals(args[1])) {
+                overflow.incrementAndGet();
+            }
+        });
+        for (int i = 0; i < 5; i++) {
+            n.addInput("$0.1$ <q" + i + " --> b>?");
+            n.addInput("$0.9$ <h" + i + " --> b>.");
+            n.addInput("$0.2$ <l" + i + " --> b>.");
+        }
+        n.memory.processInputQueue(p);
+
+        assertEquals(5, n.memory.newTasks.size());
+        for (final Task t : n.memory.newTasks) {
+            assertTrue(t.getPriority() > 0.5f);
+        }
+        assertEquals(5, n.memory.getNewTasksDropped());
+        assertEquals(5, n.memory.getNewTasksDiverted());
+        assertEquals(5, overflow.get());
+        assertEquals(5, n.memory.novelTasks.size());
+    }
+
+    /** flooded far past NEW_TASKS_CAPACITY the tasks kept are those of highest priority, in their order of arrival */
+    @Test
+    public void testNewTasksFlood() {
+        final NarParameters p = new NarParameters();
+        p.NEW_TASKS_CAPACITY = 100;
+        final Nar n = new Nar(p);
+        final List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(1));
+        for (final int i : order) {
+            n.addInput("$" + String.format(Locale.US, "%.3f", 0.001f * (i + 1)) + "$ <x" + i + " --> b>.");
+        }
+        n.memory.processInputQueue(p);
+
+        assertEquals(100, n.memory.newTasks.size());
+        assertEquals(900, n.memory.getNewTasksDropped() + n.memory.getNewTasksDiverted());
+        final List<Integer> kept = new ArrayList<>();
+        for (final Task t : n.memory.newTasks) {
+            final String name = t.getTerm().toString();
+            kept.add(Integer.parseInt(name.substring(2, name.indexOf(' '))));
+        }
+        final List<Integer> highest = new ArrayList<>();
+        for (final int i : order) {
+            if (i >= 900) {
+                highest.add(i);
+            }
+        }
+        assertEquals(highest, kept);
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.core;
+
+import org.junit.Test;
+import org.opennars.io.events.Events;
+import org.opennars.io.metrics.Histogram;
+import org.opennars.io.metrics.Metrics;
+import org.opennars.main.Nar;
+import org.opennars.main.NarParameters;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsTest {
+
+    private static Nar run(final boolean metrics) {
+        final NarParameters p = new NarParameters();
+        p.METRICS = metrics;
+        final Nar n = new Nar(p);
+        n.addInput("<a --> b>.");
+        n.addInput("<b --> c>.");
+        n.addInput("<c --> d>.");
+        n.cycles(100);
+        return n;
+    }
+
+    @Test
+    public void testRecorded() {
+        final Metrics m = run(true).memory.metrics;
+        assertEquals(100, m.getCycles());
+        assertEquals(100, m.cycleTime.getCount());
+        assertTrue(m.getTasksProcessed() >= 3);
+        assertTrue(m.getDerivations() > 0);
+        assertEquals(m.getDerivations(), m.getEventCount(Events.TaskDerive.class));
+        assertEquals(m.getDerivations(), (long) Math.round(m.getDerivationsPerCycleMean() * 100));
+        assertTrue(m.getConceptsCreated() > 0);
+        assertTrue(m.getCycleTimeP99() <= m.getCycleTimeMax());
+        assertTrue(m.getOccupancy().get("concepts") > 0);
+        assertEquals(4, m.getPhaseTimeMean().size());
+    }
+
+    @Test
+    public void testDisabled() {
+        final Metrics m = run(false).memory.metrics;
+        assertEquals(0, m.getCycles());
+        assertEquals(0, m.getDerivations());
+        assertTrue(m.getEventCounts().isEmpty());
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        final Nar n = run(true);
+        final ObjectName name = n.memory.metrics.register("MetricsTest");
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(100L, server.getAttribute(name, "Cycles"));
+            server.setAttribute(name, new Attribute("Enabled", false));
+            n.cycles(10);
+            assertEquals(100L, server.getAttribute(name, "Cycles"));
+        } finally {
+            Metrics.unregister("MetricsTest");
+        }
+    }
+
+    /** percentiles are within the relative width of a bucket */
+    @Test
+    public void testHistogram() {
+        final Histogram h = new Histogram();
+        for (int i = 1; i <= 1000; i++) {
+            h.record(i * 1000L);
+        }
+        assertEquals(1000, h.getCount());
+        assertEquals(500500.0, h.getMean(), 0.001);
+        assertEquals(1000000, h.getMax());
+        final long p50 = h.getValueAtPercentile(50);
+        assertTrue(p50 >= 500000 && p50 <= 500000 * 1.125);
+        final long p99 = h.getValueAtPercentile(99);
+        assertTrue(p99 >= 990000 && p99 <= 1000000);
+        h.reset();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getValueAtPercentile(50));
+    }
+}
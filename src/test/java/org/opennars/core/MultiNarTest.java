@@ -0,0 +1,119 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.core;
+
+import org.junit.Test;
+import org.opennars.io.events.Events;
+import org.opennars.io.events.OutputHandler.OUT;
+import org.opennars.main.Nar;
+import org.opennars.main.NarParameters;
+import org.opennars.plugin.mental.InternalExperience;
+import org.opennars.storage.BagType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Nars running side by side on a thread pool do not share any state
+ */
+public class MultiNarTest {
+
+    private static final int NARS = 8;
+
+    /** parameters of a Nar whose task-link and term-link bags select by random numbers */
+    private static NarParameters parameters() {
+        final NarParameters p = new NarParameters();
+        p.TASK_LINK_BAG_TYPE = BagType.ROULETTE;
+        p.TERM_LINK_BAG_TYPE = BagType.ROULETTE;
+        return p;
+    }
+
+    private static List<String> output(final NarParameters p) {
+        final Nar n = new Nar(p);
+        final List<String> out = new ArrayList<>();
+        n.on(OUT.class, (event, args) -> out.add(args[0].toString()));
+        n.addInput("<a --> b>.");
+        n.addInput("<b --> c>.");
+        n.addInput("<c --> d>.");
+        n.addInput("<(*,a,b) --> r>. :|:");
+        n.addInput("<(*,b,c) --> r>. :|:");
+        n.addInput("<a --> d>?");
+        n.cycles(300);
+        return out;
+    }
+
+    /** every Nar gives the output of a Nar running alone, while others with other parameters run next to it */
+    @Test
+    public void testIsolated() throws Exception {
+        final List<String> alone = output(parameters());
+        assertTrue(alone.size() > 0);
+
+        final ExecutorService pool = Executors.newFixedThreadPool(NARS);
+        try {
+            final List<Future<List<String>>> same = new ArrayList<>();
+            final List<Future<List<String>>> other = new ArrayList<>();
+            for (int i = 0; i < NARS; i++) {
+                same.add(pool.submit(() -> output(parameters())));
+                other.add(pool.submit(() -> {
+                    final NarParameters p = parameters();
+                    p.DURATION = 10;
+                    p.DERIVATION_PRIORITY_LEAK = 0.8f;
+                    return output(p);
+                }));
+            }
+            for (final Future<List<String>> f : same) {
+                assertEquals(alone, f.get());
+            }
+            for (final Future<List<String>> f : other) {
+                assertEquals(other.get(0).get(), f.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static int internalExperiences(final Nar n) {
+        final int[] count = {0};
+        n.on(Events.TaskDerive.class, (event, args) -> {
+            if (args[0].toString().contains("^want")) {
+                count[0]++;
+            }
+        });
+        n.addInput("<a --> b>!");
+        n.addInput("<c --> d>!");
+        n.cycles(50);
+        return count[0];
+    }
+
+    /** internal experience from goals follows the plugin of each Nar */
+    @Test
+    public void testInternalExperience() {
+        final Nar without = new Nar();
+        for (final Nar.PluginState ps : new ArrayList<>(without.getPlugins())) {
+            if (ps.plugin instanceof InternalExperience) {
+                without.removePlugin(ps);
+            }
+        }
+        final Nar with = new Nar();
+        assertTrue(internalExperiences(with) > 0);
+        assertEquals(0, internalExperiences(without));
+    }
+}
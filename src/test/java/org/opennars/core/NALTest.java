@@ -170,7 +170,7 @@ public class NALTest  {
     }
     
     protected double testNAL(final String path) {               
-        Memory.resetStatic();
+        Memory.resetSharedRandom();
         
         final List<OutputCondition> expects = new ArrayList();
         
@@ -0,0 +1,99 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.core;
+
+import org.junit.Test;
+import org.opennars.entity.Concept;
+import org.opennars.io.Narsese.InvalidInputException;
+import org.opennars.io.events.OutputHandler.OUT;
+import org.opennars.main.Nar;
+import org.opennars.main.NarParameters;
+import org.opennars.storage.BagType;
+import org.opennars.storage.Memory;
+import org.opennars.util.test.OutputContainsCondition;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelInferenceTest {
+
+    private static Nar newParallelNar() {
+        Memory.resetSharedRandom();
+        final NarParameters p = new NarParameters();
+        p.INFERENCE_THREADS = 4;
+        p.CONCEPTS_FIRED_PER_CYCLE = 8;
+        p.TERM_LINK_BAG_TYPE = BagType.ROULETTE;
+        return new Nar(p);
+    }
+
+    /** concepts fired in parallel still find the beliefs of the other concepts fired in the same cycle */
+    @Test
+    public void testDeduction() {
+        final Nar n = newParallelNar();
+        final OutputContainsCondition deduced = new OutputContainsCondition(n, "<robin --> animal>. %1.00;0.81%", 5);
+        n.addInput("<bird --> animal>.");
+        n.addInput("<robin --> bird>.");
+        n.cycles(100);
+        assertTrue(deduced.succeeded);
+    }
+
+    /** every concept taken out for firing is put back, and none is duplicated */
+    @Test
+    public void testConceptsPutBack() throws InvalidInputException {
+        final Nar n = newParallelNar();
+        n.addInput("<a --> b>.");
+        n.addInput("<b --> c>.");
+        n.addInput("<c --> d>.");
+        n.addInput("<d --> e>.");
+        n.cycles(200);
+        final Set<Object> terms = new HashSet<>();
+        int count = 0;
+        for (final Concept c : n.memory) {
+            terms.add(c.getTerm());
+            count++;
+        }
+        assertEquals(count, terms.size());
+        assertEquals(count, n.memory.concepts.size());
+        assertTrue(n.concept("<a --> b>") != null);
+    }
+
+    private static List<String> output(final int threads) {
+        final Nar n = newParallelNar();
+        n.narParameters.INFERENCE_THREADS = threads;
+        final List<String> out = new ArrayList<>();
+        n.on(OUT.class, (event, args) -> out.add(args[0].toString()));
+        n.addInput("<a --> b>.");
+        n.addInput("<b --> c>.");
+        n.addInput("<c --> d>.");
+        n.addInput("<(*,a,b) --> r>. :|:");
+        n.addInput("<a --> d>?");
+        n.cycles(500);
+        return out;
+    }
+
+    /** the deterministic mode gives the same output with any number of threads */
+    @Test
+    public void testDeterministic() {
+        final List<String> one = output(1);
+        assertTrue(one.size() > 0);
+        assertEquals(one, output(4));
+        assertEquals(one, output(3));
+    }
+}
@@ -20,6 +20,9 @@ import org.opennars.language.CompoundTerm;
 import org.opennars.language.Term;
 import org.opennars.main.Nar;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
 /**
  *
  * @author patha
@@ -34,4 +37,18 @@ public class ReplaceIntervalTest {
         CompoundTerm ct = (CompoundTerm) CompoundTerm.replaceIntervals(ret);
         assert(ct.toString().equals("<(*,{SELF},<{(*,fragmentC,fragmentD)} --> compare>,TRUE) =\\> (*,{SELF},(&/,<{fragmentC} --> mutate>,+1),TRUE)>"));
     }
+
+    /** the key is made once per term, and a term without interval is its own key */
+    @Test
+    public void replaceIvalCachedTest() throws Narsese.InvalidInputException {
+        Nar nar = new Nar();
+        Narsese parser = new Narsese(nar);
+        Term t = parser.parseTerm("(&/,<a --> b>,+3,<c --> d>)");
+        Term key = CompoundTerm.replaceIntervals(t);
+        assertEquals(parser.parseTerm("(&/,<a --> b>,+1,<c --> d>)"), key);
+        assertSame(key, CompoundTerm.replaceIntervals(t));
+        assertSame(key, CompoundTerm.replaceIntervals(key));
+        Term noInterval = parser.parseTerm("(&/,<a --> b>,<c --> d>)");
+        assertSame(noInterval, CompoundTerm.replaceIntervals(noInterval));
+    }
 }
@@ -0,0 +1,72 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.core;
+
+import org.junit.Test;
+import org.opennars.io.metrics.RuleProfiler;
+import org.opennars.io.metrics.RuleProfiler.RuleStats;
+import org.opennars.main.Nar;
+import org.opennars.main.NarParameters;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RuleProfilerTest {
+
+    private static Nar run(final boolean profiled) {
+        final NarParameters p = new NarParameters();
+        p.RULE_PROFILER = profiled;
+        p.METRICS = true;
+        final Nar n = new Nar(p);
+        n.addInput("<a --> b>.");
+        n.addInput("<b --> c>.");
+        n.addInput("<c --> d>.");
+        n.addInput("<a --> d>?");
+        n.cycles(200);
+        return n;
+    }
+
+    @Test
+    public void testProfiled() {
+        final Nar n = run(true);
+        final RuleProfiler profiler = n.memory.ruleProfiler;
+
+        final RuleStats deduction = profiler.getRule("SyllogisticRules.dedExe");
+        assertTrue(deduction.getCalls() > 0);
+        assertTrue(deduction.getDerived() > 0);
+
+        long derived = 0, rejected = 0;
+        for (final RuleStats r : profiler.getRules()) {
+            assertTrue(r.getSelfNanos() <= r.getNanos());
+            derived += r.getDerived();
+            rejected += r.getRejected();
+            assertEquals(r.getRejected(), r.getRejections().values().stream().mapToLong(Long::longValue).sum());
+        }
+        assertEquals(n.memory.metrics.getDerivations(), derived);
+        assertTrue(rejected > 0);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        profiler.report(new PrintStream(out));
+        assertTrue(out.toString().contains("SyllogisticRules.dedExe"));
+    }
+
+    @Test
+    public void testDisabled() {
+        assertTrue(run(false).memory.ruleProfiler.getRules().isEmpty());
+    }
+}
@@ -168,7 +168,7 @@ public class StabilityTest {
     }
 
     protected double testNAL(final String path) {
-        Memory.resetStatic();
+        Memory.resetSharedRandom();
 
         final List<OutputCondition> expects = new ArrayList();
 
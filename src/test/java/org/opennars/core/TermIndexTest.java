@@ -0,0 +1,91 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.core;
+
+import org.junit.Test;
+import org.opennars.io.Narsese;
+import org.opennars.main.Nar;
+import org.opennars.storage.TermIndex;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TermIndexTest {
+
+    final Nar n = new Nar();
+    final Narsese np = new Narsese(n);
+
+    private final TermIndex<String> index = new TermIndex<>();
+
+    private void put(final String s) throws Narsese.InvalidInputException {
+        index.put(np.parseTerm(s), s);
+    }
+
+    private Set<String> unifiable(final String s) throws Narsese.InvalidInputException {
+        final Set<String> result = new HashSet<>();
+        index.unifiable(np.parseTerm(s), result);
+        return result;
+    }
+
+    /** query variables stand for whole subterms, in the indexed terms and in the searched one */
+    @Test
+    public void testWildcards() throws Narsese.InvalidInputException {
+        put("<(*,a,b) --> rel>");
+        put("<(*,a,(*,c,d)) --> rel>");
+        put("<(*,?x,b) --> rel>");
+        put("<c --> rel>");
+        assertEquals(4, index.size());
+
+        final Set<String> any = unifiable("<(*,a,?y) --> rel>");
+        assertEquals(3, any.size());
+        assertFalse(any.contains("<c --> rel>"));
+
+        final Set<String> d = unifiable("<(*,a,(*,c,d)) --> rel>");
+        assertEquals(1, d.size());
+        assertFalse(d.contains("<(*,?x,b) --> rel>"));
+        assertTrue(d.contains("<(*,a,(*,c,d)) --> rel>"));
+
+        assertEquals(4, unifiable("?z").size());
+        assertTrue(unifiable("<(*,b,b) --> rel>").contains("<(*,?x,b) --> rel>"));
+        assertTrue(unifiable("<a --> rel>").isEmpty());
+    }
+
+    /** the components of commutative compounds are left to the unification */
+    @Test
+    public void testCommutative() throws Narsese.InvalidInputException {
+        put("<(&,a,b) --> c>");
+        assertEquals(1, unifiable("<(&,b,a) --> c>").size());
+        assertEquals(1, unifiable("<(&,?x,d) --> c>").size());
+        assertTrue(unifiable("<(&,a,b,d) --> c>").isEmpty());
+    }
+
+    @Test
+    public void testRemove() throws Narsese.InvalidInputException {
+        put("<a --> b>");
+        put("<a --> c>");
+        assertFalse(index.remove(np.parseTerm("<a --> b>"), "other"));
+        assertTrue(index.remove(np.parseTerm("<a --> b>"), "<a --> b>"));
+        assertEquals(1, index.size());
+        assertTrue(unifiable("<a --> ?x>").contains("<a --> c>"));
+        assertEquals(1, unifiable("<a --> ?x>").size());
+        index.clear();
+        assertEquals(0, index.size());
+        assertTrue(unifiable("<a --> ?x>").isEmpty());
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.core;
+
+import org.junit.Test;
+import org.opennars.io.Narsese;
+import org.opennars.language.CompoundTerm;
+import org.opennars.language.Term;
+import org.opennars.language.TermInterner;
+import org.opennars.main.Nar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class TermInternerTest {
+
+    final Nar n = new Nar();
+    final Narsese np = new Narsese(n);
+
+    @Test
+    public void testShared() throws Narsese.InvalidInputException {
+        final CompoundTerm a = (CompoundTerm) np.parseTerm("<(*,a,b) --> (&,c,d)>");
+        final CompoundTerm b = (CompoundTerm) np.parseTerm("<(*,a,b) --> (&,c,d)>");
+        assertNotSame(a, b);
+        assertSame(TermInterner.intern(a), TermInterner.intern(b));
+        assertSame(a, TermInterner.intern(b));
+        //components are shared too
+        final CompoundTerm c = (CompoundTerm) np.parseTerm("<(*,a,b) --> e>");
+        TermInterner.intern(c);
+        assertSame(a.term[0], c.term[0]);
+    }
+
+    @Test
+    public void testNotShared() throws Narsese.InvalidInputException {
+        for (final String s : new String[] { "<$1 --> a>", "<(*,#1,b) --> c>", "<(^say,{SELF},x) =/> y>" }) {
+            final Term a = np.parseTerm(s);
+            final Term b = np.parseTerm(s);
+            assertSame(a, TermInterner.intern(a));
+            assertSame(b, TermInterner.intern(b));
+        }
+    }
+
+    /** the beliefs of the Nars of a JVM and their concepts share the instances of their terms */
+    @Test
+    public void testSentencesAndConcepts() throws Narsese.InvalidInputException {
+        final Nar other = new Nar();
+        n.addInput("<(*,x,y) --> z>.");
+        other.addInput("<(*,x,y) --> z>.");
+        n.cycles(1);
+        other.cycles(1);
+        final Term t = np.parseTerm("<(*,x,y) --> z>");
+        final Term concept = n.memory.concept(t).term;
+        assertSame(concept, other.memory.concept(t).term);
+        assertSame(concept, n.memory.concept(t).beliefs.get(0).sentence.term);
+        assertEquals(t, concept);
+    }
+}
@@ -23,14 +23,17 @@ import org.opennars.language.CompoundTerm;
 import org.opennars.language.Inheritance;
 import org.opennars.language.Statement;
 import org.opennars.language.Term;
+import org.opennars.language.Terms;
 import org.opennars.main.Nar;
 import org.opennars.main.Parameters;
 import org.opennars.operator.Operation;
 
+import java.util.Arrays;
 import java.util.NavigableSet;
 import java.util.TreeSet;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -278,4 +281,49 @@ public class TermTest {
         assertEquals(Operation.class, x.getClass());
         assertEquals("(^wonder,a,b)", x.toString());
     }
+
+    /** the structural hash follows the name, also when the name is remade after a change */
+    @Test
+    public void testStructuralHash() throws Narsese.InvalidInputException {
+        final String[] terms = { "<(*,a,b) --> c>", "(/,open,_,door)", "(/,open,door,_)", "(&/,a,+3,b)", "(&|,a,b)",
+                "<(&&,<$1 --> a>,<$1 --> b>) ==> <$1 --> c>>", "(--,{x,y})", "(^want,{SELF},x)" };
+        for (final String s1 : terms) {
+            for (final String s2 : terms) {
+                final Term a = np.parseTerm(s1);
+                final Term b = np.parseTerm(s2);
+                assertEquals(s1.equals(s2), a.equals(b));
+                if (a.equals(b)) {
+                    assertEquals(a.hashCode(), b.hashCode());
+                }
+            }
+        }
+        final CompoundTerm t = (CompoundTerm) np.parseTerm("(&/,a,+3,b)");
+        final int before = t.hashCode();
+        final Term replaced = CompoundTerm.replaceIntervals(t);
+        assertEquals(np.parseTerm("(&/,a,+1,b)"), replaced);
+        assertEquals(np.parseTerm("(&/,a,+1,b)").hashCode(), replaced.hashCode());
+        assertEquals(before, t.hashCode());
+    }
+
+    /** the subterm signatures only reject terms that are not contained */
+    @Test
+    public void testSubtermSignature() throws Narsese.InvalidInputException {
+        final CompoundTerm t = (CompoundTerm) np.parseTerm("<(&&,<$1 --> a>,<(*,b,c) --> d>) ==> <$1 --> e>>");
+        final String[] contained = { "a", "b", "d", "$1", "(*,b,c)", "<(*,b,c) --> d>", "<$1 --> e>" };
+        for (final String s : contained) {
+            final Term c = np.parseTerm(s);
+            assertTrue(s, (t.subterms() & CompoundTerm.signature(c)) != 0);
+            assertTrue(s, t.containsTermRecursively(c));
+        }
+        assertFalse(t.containsTermRecursively(np.parseTerm("f")));
+        assertFalse(t.containsTermRecursively(np.parseTerm("(*,c,b)")));
+        assertTrue(t.containsTerm(np.parseTerm("<$1 --> e>")));
+        assertFalse(t.containsTerm(np.parseTerm("e")));
+        assertTrue(Terms.containsAny(t.term, Arrays.asList(np.parseTerm("f"), np.parseTerm("c"))));
+        assertFalse(Terms.containsAny(t.term, Arrays.asList(np.parseTerm("f"), np.parseTerm("g"))));
+
+        final CompoundTerm conj = (CompoundTerm) np.parseTerm("(&&,a,b,c)");
+        assertTrue(((CompoundTerm) np.parseTerm("(&&,a,b)")).containsAllTermsOf(conj));
+        assertFalse(((CompoundTerm) np.parseTerm("(&&,a,f)")).containsAllTermsOf(conj));
+    }
 }
@@ -15,9 +15,12 @@
 package org.opennars.core;
 
 import org.junit.Test;
+import org.opennars.entity.Stamp;
+import org.opennars.language.Tense;
 
 import java.util.Arrays;
 
+import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertTrue;
 import static org.opennars.entity.Stamp.toSetArray;
 
@@ -46,4 +49,39 @@ public class TestStamp {
                 Arrays.hashCode(toSetArray(new long[] { 1,1,3 }))
         );    
     }
+
+    private static Stamp stamp(final long... serials) {
+        Stamp s = new Stamp(0, Tense.Eternal, serials[0], 5);
+        for (int i = 1; i < serials.length; i++) {
+            s = new Stamp(s, new Stamp(0, Tense.Eternal, serials[i], 5), 0);
+        }
+        return s;
+    }
+
+    @Test
+    public void testBaseOverlap() {
+        assertFalse(Stamp.baseOverlap(stamp(1, 3, 5), stamp(2, 4, 70)));
+        assertTrue(Stamp.baseOverlap(stamp(1, 3, 5), stamp(2, 5)));
+        //same bit of the mask, different serials
+        assertFalse(Stamp.baseOverlap(stamp(1), stamp(65)));
+        //an overlap of a base with itself
+        assertTrue(Stamp.baseOverlap(stamp(1, 2, 1), stamp(3)));
+        assertTrue(stamp(1, 2, 1).evidenceIsCyclic());
+        assertFalse(stamp(1, 2, 3).evidenceIsCyclic());
+        assertFalse(Stamp.baseOverlap(new long[] { 3, 1 }, new long[] { 2, 4 }));
+        assertTrue(Stamp.baseOverlap(new long[] { 3, 1 }, new long[] { 2, 3 }));
+        assertTrue(Stamp.baseOverlap(new long[] { 2, 2 }, new long[] { 1 }));
+
+        assertTrue(stamp(1, 2, 3).evidenceIncludes(stamp(3, 1)));
+        assertFalse(stamp(1, 2, 3).evidenceIncludes(stamp(3, 4)));
+        assertFalse(stamp(1, 2, 3).evidenceIncludes(stamp(65)));
+
+        //a stamp sharing the base of another shares its set, mask and hash together
+        final Stamp s = stamp(4, 9);
+        assertFalse(s.evidenceIsCyclic());
+        final Stamp copy = new Stamp(s, 10);
+        assertTrue(Stamp.baseOverlap(copy, stamp(9)));
+        assertTrue(copy.equals(s, false, false, true));
+        assertTrue(copy.evidentialHash() == stamp(9, 4).evidentialHash());
+    }
 }
@@ -0,0 +1,87 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.core;
+
+import org.junit.Test;
+import org.opennars.io.Narsese;
+import org.opennars.io.Symbols;
+import org.opennars.language.Term;
+import org.opennars.language.Variables;
+import org.opennars.main.Nar;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UnifyTest {
+
+    final Nar n = new Nar();
+    final Narsese np = new Narsese(n);
+
+    private Term term(final String s) throws Narsese.InvalidInputException {
+        return np.parseTerm(s);
+    }
+
+    @Test
+    public void testUnify() throws Narsese.InvalidInputException {
+        final Term[] u = { term("<<$1 --> bird> ==> <$1 --> animal>>"), term("<<robin --> bird> ==> <robin --> animal>>") };
+        assertTrue(Variables.unify(Symbols.VAR_INDEPENDENT, u));
+        assertEquals(term("<<robin --> bird> ==> <robin --> animal>>"), u[0]);
+
+        final Term[] v = { term("<<$1 --> bird> ==> <$1 --> animal>>"), term("<<robin --> bird> ==> <swan --> animal>>") };
+        assertFalse(Variables.unify(Symbols.VAR_INDEPENDENT, v));
+        assertEquals(term("<<$1 --> bird> ==> <$1 --> animal>>"), v[0]);
+    }
+
+    /** the components of commutative terms are matched in a random order, failed attempts leaving no substitution */
+    @Test
+    public void testCommutative() throws Narsese.InvalidInputException {
+        int unified = 0;
+        for (int i = 0; i < 50; i++) {
+            final Term[] u = { term("(&&,<#1 --> a>,<#1 --> b>)"), term("(&&,<x --> a>,<x --> b>)") };
+            if (Variables.unify(Symbols.VAR_DEPENDENT, u)) {
+                assertEquals(u[1], u[0]);
+                unified++;
+            }
+        }
+        assertTrue(unified > 0);
+        assertFalse(Variables.hasSubstitute(Symbols.VAR_DEPENDENT, term("(&&,<#1 --> a>,<#1 --> b>)"), term("(&&,<x --> a>,<y --> b>)")));
+    }
+
+    /** the substitutions found before a failure remain in the maps */
+    @Test
+    public void testFindSubstitute() throws Narsese.InvalidInputException {
+        final Map<Term, Term> map1 = new HashMap<>();
+        final Map<Term, Term> map2 = new HashMap<>();
+        assertFalse(Variables.findSubstitute(Symbols.VAR_INDEPENDENT, term("<(*,$1,$2) --> c>"), term("<(*,a,b) --> d>"), map1, map2));
+        final Map<String, String> substitutions = new HashMap<>();
+        map1.forEach((k, v) -> substitutions.put(k.toString(), v.toString()));
+        assertEquals("a", substitutions.get("$1"));
+        assertEquals("b", substitutions.get("$2"));
+    }
+
+    /** substitutions that lead back to the variable they are for don't unify */
+    @Test
+    public void testCyclicSubstitute() throws Narsese.InvalidInputException {
+        final Map<Term, Term> map1 = new HashMap<>();
+        final Map<Term, Term> map2 = new HashMap<>();
+        map1.put(term("#1"), term("(*,$1)"));
+        map2.put(term("$1"), term("(*,#1)"));
+        assertFalse(Variables.findSubstitute(Symbols.VAR_INDEPENDENT, term("#1"), term("$1"), map1, map2));
+    }
+}
@@ -16,8 +16,10 @@ package org.opennars.core.bag;
 
 import org.junit.Test;
 import org.opennars.perf.BagPerf.NullItem;
+import org.opennars.storage.ArrayLevelBag;
 import org.opennars.storage.Bag;
 import org.opennars.storage.LevelBag;
+import org.opennars.storage.RouletteBag;
 
 import java.util.Iterator;
 
@@ -61,6 +63,7 @@ public class BagIteratorTest {
         b.putIn(new NullItem(0.8f));
 
         assert !(b instanceof LevelBag) || (((LevelBag) b).numEmptyLevels() < L);
+        assert !(b instanceof ArrayLevelBag) || (((ArrayLevelBag) b).numEmptyLevels() < L);
         
         testIterator(b);
         
@@ -77,6 +80,8 @@ public class BagIteratorTest {
     @Test
     public void testBags() {
         testBagIterator(new LevelBag(L, L*2));
+        testBagIterator(new ArrayLevelBag(L, L*2));
+        testBagIterator(new RouletteBag(L*2));
         
     }
     
@@ -22,10 +22,19 @@ import org.junit.Test;
 import org.opennars.entity.BudgetValue;
 import org.opennars.entity.Concept;
 import org.opennars.entity.Item;
+import org.opennars.inference.BudgetFunctions;
 import org.opennars.language.Term;
 import org.opennars.main.Nar;
+import org.opennars.main.NarParameters;
+import org.opennars.main.Parameters;
+import org.opennars.perf.BagPerf.NullItem;
+import org.opennars.storage.ArrayLevelBag;
 import org.opennars.storage.Bag;
+import org.opennars.storage.BagType;
 import org.opennars.storage.LevelBag;
+import org.opennars.storage.RouletteBag;
+
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -46,6 +55,175 @@ public class BagOperationsTest {
     @Test
     public void testConcept() {
         testBagSequence(new LevelBag(2, 2));    
+        testBagSequence(new ArrayLevelBag(2, 2));
+        testBagSequence(new RouletteBag(2));
+    }
+
+    /** bag engines and sizes are taken per Nar from its NarParameters */
+    @Test
+    public void testBagFactory() {
+        final NarParameters p = new NarParameters();
+        p.CONCEPT_BAG_TYPE = BagType.ROULETTE;
+        p.CONCEPT_BAG_SIZE = 50;
+        p.TASK_LINK_BAG_TYPE = BagType.ARRAY_LEVEL;
+        p.TERM_LINK_BAG_SIZE = 7;
+        final Nar n = new Nar(p);
+        assertTrue(n.memory.concepts instanceof RouletteBag);
+        assertEquals(50, n.memory.concepts.getCapacity());
+        final Concept c = new Concept(new BudgetValue(0.5f, 0.5f, 0.5f), new Term("a"), n.memory);
+        assertTrue(c.taskLinks instanceof ArrayLevelBag);
+        assertEquals(7, c.termLinks.getCapacity());
+        assertTrue(nar.memory.concepts instanceof LevelBag);
+    }
+
+    /** RouletteBag selects items in proportion to their priority */
+    @Test
+    public void testRouletteProportional() {
+        final Bag<NullItem,CharSequence> b = new RouletteBag<>(4);
+        final NullItem low = new NullItem(0.1f);
+        final NullItem high = new NullItem(0.4f);
+        b.putIn(low);
+        b.putIn(high);
+        int highCount = 0;
+        final int samples = 20000;
+        for (int i = 0; i < samples; i++) {
+            final NullItem x = b.peekNext();
+            if (x == high) {
+                highCount++;
+            }
+        }
+        assertEquals(0.8, highCount / (double) samples, 0.02);
+
+        //a full bag displaces its lowest priority item, or rejects a lower one
+        b.putIn(new NullItem(0.2f));
+        b.putIn(new NullItem(0.3f));
+        assertTrue(b.putIn(new NullItem(0.5f)) == low);
+        final NullItem rejected = new NullItem(0.05f);
+        assertTrue(b.putIn(rejected) == rejected);
+        assertEquals(4, b.size());
+        assertEquals(1.4f, b.getMass(), 0.001f);
+    }
+
+    /** items re-prioritised while in the bag, or filed in another bag too, must still be removable by key */
+    @Test
+    public void testTakeReprioritised() {
+        final LevelBag<NullItem,CharSequence> a = new LevelBag<>(10, 10);
+        final LevelBag<NullItem,CharSequence> b = new LevelBag<>(10, 10);
+        final NullItem x = new NullItem(0.15f);
+        a.putIn(x);
+        x.setPriority(0.95f);
+        b.putIn(x);
+        assertTrue(a.take(x.name()) == x);
+        assertTrue(b.take(x.name()) == x);
+        assertEquals(0, a.size());
+        assertEquals(0, b.size());
+        assertEquals(10, a.numEmptyLevels());
+        assertEquals(10, b.numEmptyLevels());
+    }
+
+    /** items taken out or evicted do not keep the bag reachable */
+    @Test
+    public void testTakenUnfiled() {
+        final LevelBag<NullItem,CharSequence> a = new LevelBag<>(10, 1);
+        final NullItem x = new NullItem(0.2f);
+        a.putIn(x);
+        assertTrue(x.filedIn == a);
+        final NullItem y = new NullItem(0.8f);
+        assertTrue(a.putIn(y) == x);
+        assertTrue(x.filedIn == null);
+        assertTrue(a.takeNext() == y);
+        assertTrue(y.filedIn == null);
+        a.putIn(y);
+        assertTrue(a.take(y.name()) == y);
+        assertTrue(y.filedIn == null);
+        a.putIn(y);
+        a.clear();
+        assertTrue(y.filedIn == null);
+    }
+
+    /** lazy forgetting decays once per elapsed cycle, however often the item is put back */
+    @Test
+    public void testLazyForgetting() {
+        final Nar n = new Nar();
+        n.narParameters.LAZY_FORGETTING = true;
+        final Bag<NullItem,CharSequence> b = new LevelBag<>(10, 10);
+        final NullItem x = new NullItem(0.9f);
+        b.putIn(x);
+
+        b.putBack(b.takeNext(), 10, n.memory);
+        final float once = x.getPriority();
+        assertTrue(once < 0.9f);
+        b.putBack(b.takeNext(), 10, n.memory);
+        assertEquals(once, x.getPriority(), 0);
+
+        n.cycles(3);
+        b.putBack(b.takeNext(), 10, n.memory);
+        final NullItem y = new NullItem(once);
+        for (int i = 0; i < 3; i++) {
+            BudgetFunctions.applyForgetting(y.budget, 10, Parameters.FORGET_QUALITY_RELATIVE);
+        }
+        assertTrue(x.getPriority() < once);
+        assertTrue(x.getPriority() >= y.getPriority());
+    }
+
+    /** the time waited in a bag since being put in counts, separately in each bag */
+    @Test
+    public void testLazyForgettingPerBag() {
+        final Nar n = new Nar();
+        n.narParameters.LAZY_FORGETTING = true;
+        final Bag<NullItem,CharSequence> a = new LevelBag<>(10, 10);
+        final Bag<NullItem,CharSequence> b = new LevelBag<>(10, 10);
+        final NullItem x = new NullItem(0.9f);
+        a.putIn(x, n.memory);
+        b.putIn(x, n.memory);
+        n.cycles(5);
+
+        final NullItem y = new NullItem(0.9f);
+        BudgetFunctions.applyForgetting(y.budget, 10, Parameters.FORGET_QUALITY_RELATIVE, 5);
+        a.putBack(a.takeNext(), 10, n.memory);
+        assertEquals(y.getPriority(), x.getPriority(), 0.0001f);
+
+        //put back into a in this cycle, still waiting in b since cycle 0
+        BudgetFunctions.applyForgetting(y.budget, 10, Parameters.FORGET_QUALITY_RELATIVE, 5);
+        b.putBack(b.take(x.name()), 10, n.memory);
+        assertEquals(y.getPriority(), x.getPriority(), 0.0001f);
+    }
+
+    /** ArrayLevelBag must select items in exactly the same order as LevelBag */
+    @Test
+    public void testArrayLevelBagMatchesLevelBag() {
+        final Bag<NullItem,CharSequence> a = new LevelBag<>(10, 40);
+        final Bag<NullItem,CharSequence> b = new ArrayLevelBag<>(10, 40);
+        final Random rng = new Random(1);
+        for (int i = 0; i < 10000; i++) {
+            final float r = rng.nextFloat();
+            if (r < 0.5f) {
+                final float p = rng.nextFloat();
+                final NullItem x = new NullItem(p);
+                final NullItem y = new NullItem(p);
+                final NullItem ox = a.putIn(x);
+                final NullItem oy = b.putIn(y);
+                assertEquals(ox == null, oy == null);
+                if (ox != null) {
+                    assertEquals(ox.getPriority(), oy.getPriority(), 0);
+                }
+            } else if (r < 0.9f) {
+                final NullItem x = a.takeNext();
+                final NullItem y = b.takeNext();
+                assertEquals(x == null, y == null);
+                if (x != null) {
+                    assertEquals(x.getPriority(), y.getPriority(), 0);
+                    a.putIn(x);
+                    b.putIn(y);
+                }
+            } else if (a.size() > 0) {
+                final NullItem x = a.takeNext();
+                final NullItem y = b.takeNext();
+                assertEquals(x.getPriority(), y.getPriority(), 0);
+            }
+            assertEquals(a.size(), b.size());
+            assertEquals(a.getMass(), b.getMass(), 0.001f);
+        }
     }
     
     public static void testBagSequence(final Bag b) {
@@ -91,7 +269,7 @@ public class BagOperationsTest {
         assertEquals(null, b.putIn(makeConcept("a", 0.2f)));
         assertEquals(null, b.putIn(makeConcept("b", 0.3f)));
         
-        if (b instanceof LevelBag) {
+        if (b instanceof LevelBag || b instanceof ArrayLevelBag) {
             assertEquals("a", b.putIn(makeConcept("c", 0.1f)).name().toString()); //replaces item on level
         }
         
@@ -19,6 +19,9 @@ import org.opennars.storage.Distributor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
 
 /**
  *
@@ -61,5 +64,27 @@ public class DistributorAnalyzer {
         
     }
 
+    /** nextIndexOf must agree with scanning the order one index at a time */
+    @Test public void testNextIndexOf() {
+        final Random rng = new Random(1);
+        for (final int levels : new int[] { 1, 10, 100, 1000 }) {
+            final Distributor d = Distributor.get(levels);
+            for (int trial = 0; trial < 200; trial++) {
+                final long[] set = new long[(levels + 63) / 64];
+                final int numSet = 1 + rng.nextInt(trial % 2 == 0 ? 3 : levels);
+                for (int i = 0; i < numSet; i++) {
+                    final int l = rng.nextInt(levels);
+                    set[l >> 6] |= 1L << l;
+                }
+                final int start = rng.nextInt(d.capacity);
+                int expected = start;
+                while ((set[d.order[expected] >> 6] & (1L << d.order[expected])) == 0) {
+                    expected = d.next(expected);
+                }
+                assertEquals(expected, d.nextIndexOf(start, set));
+            }
+        }
+    }
+
     
 }
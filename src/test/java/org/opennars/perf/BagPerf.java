@@ -142,7 +142,7 @@ public class BagPerf {
     //final boolean first, final int levels, final int levelCapacity, 
     public static double getTime(final String label, final BagBuilder b, final int iterations, final int randomAccesses, final float insertRatio, final int repeats, final int warmups) {
         
-        Memory.resetStatic();
+        Memory.resetSharedRandom();
         
         final Performance p = new Performance(label, repeats, warmups) {
 
@@ -0,0 +1,78 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.opennars.perf;
+
+import org.opennars.perf.BagPerf.NullItem;
+import org.opennars.storage.ArrayLevelBag;
+import org.opennars.storage.Bag;
+import org.opennars.storage.LevelBag;
+
+import java.util.Random;
+
+/**
+ * Measures takeNext/putIn cycles of a bag with as many levels as the concept
+ * bag, once sparsely filled (a few low priority items, so most distributor
+ * slots point to empty levels) and once densely filled.
+ */
+public class BagSelectionPerf {
+
+    static final int levels = 1000;
+    static final int capacity = 10000;
+    static final int selections = 200000;
+
+    public interface BagBuilder {
+        Bag<NullItem,CharSequence> newBag();
+    }
+
+    public static void fill(final Bag<NullItem,CharSequence> b, final int items, final float maxPriority) {
+        final Random rng = new Random(1);
+        for (int i = 0; i < items; i++) {
+            b.putIn(new NullItem(rng.nextFloat() * maxPriority));
+        }
+    }
+
+    public static void select(final Bag<NullItem,CharSequence> b, final int selections) {
+        for (int i = 0; i < selections; i++) {
+            final NullItem x = b.takeNext();
+            b.putIn(x);
+        }
+    }
+
+    public static void measure(final String label, final BagBuilder builder, final int items, final float maxPriority) {
+        new Performance(label + "," + items, 5, 1) {
+
+            @Override public void init() { }
+
+            @Override
+            public void run(final boolean warmup) {
+                final Bag<NullItem,CharSequence> b = builder.newBag();
+                fill(b, items, maxPriority);
+                select(b, selections);
+            }
+
+        }.printCSV(false);
+        System.out.println();
+    }
+
+    public static void main(final String[] args) {
+        System.out.println("bag,items, ms/run, kb/run");
+        for (final int items : new int[] { 3, 30, capacity }) {
+            //sparse bags hold a few low priority items, dense bags are full and spread over all levels
+            final float maxPriority = (items == capacity) ? 1.0f : 0.1f;
+            measure("LevelBag", () -> new LevelBag<>(levels, capacity), items, maxPriority);
+            measure("ArrayLevelBag", () -> new ArrayLevelBag<>(levels, capacity), items, maxPriority);
+        }
+    }
+}